@@ -0,0 +1,302 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures throughput and allocation rate of the core game paths at each standard size, a very
+ * large custom size, and several mine densities. Results print as a table and can also be written
+ * as CSV so runs from different releases can be compared.
+ *
+ * Usage: java Benchmarks [-warmup seconds] [-time seconds] [-filter text] [-csv file]
+ *
+ * Last update: 10/18/26
+ */
+
+public class Benchmarks {
+    // board sizes as height, width
+    private static final int[][] SIZES = {{9, 9}, {16, 16}, {16, 30}, {1000, 1000}};
+    private static final String[] SIZE_NAMES = {"beginner", "intermediate", "expert", "custom"};
+
+    // mine densities, near those of beginner, intermediate, and expert
+    private static final double[] DENSITIES = {0.12, 0.16, 0.21};
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+    private static final String USAGE = "Usage: java Benchmarks [-warmup seconds] [-time seconds] [-filter text]"
+            + " [-csv file]";
+
+    private static volatile long sink;  // keeps results alive so work is not optimized away
+
+    private double warmupSeconds = 1;
+    private double measureSeconds = 2;
+    private String filter = "";
+    private PrintWriter csv;
+
+    /**
+     * A single operation being measured.
+     */
+    private interface Op {
+        /**
+         * Run the operation once.
+         *
+         * @return any value derived from the work done
+         */
+        long run();
+    }
+
+    /**
+     * Run every benchmark matching the filter.
+     *
+     * @param args options described in the class comment
+     * @throws IOException if the CSV file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Benchmarks b = new Benchmarks();
+        String csvFile = null;  // file results are also written to, or null
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length)
+                usage("Option " + args[i] + " needs a value");
+
+            try {
+                switch (args[i]) {
+                    case "-warmup":
+                        b.warmupSeconds = Double.parseDouble(args[i + 1]);
+                        break;
+                    case "-time":
+                        b.measureSeconds = Double.parseDouble(args[i + 1]);
+                        break;
+                    case "-filter":
+                        b.filter = args[i + 1];
+                        break;
+                    case "-csv":
+                        csvFile = args[i + 1];
+                        break;
+                    default:
+                        usage("Unknown option " + args[i]);
+                }
+            } catch (NumberFormatException e) {
+                usage("Option " + args[i] + " needs a number, not " + args[i + 1]);
+            }
+        }
+
+        // open the CSV file only once the options are known to be good
+        if (csvFile != null) {
+            b.csv = new PrintWriter(new FileWriter(csvFile));
+            b.csv.println("benchmark,size,height,width,mines,ops_per_sec,ns_per_op,bytes_per_op,mb_per_sec");
+        }
+
+        System.out.printf("%-16s %-13s %10s %14s %12s %14s %10s%n", "benchmark", "size", "mines",
+                "ops/s", "ns/op", "B/op", "MB/s");
+
+        b.runAll();
+
+        if (b.csv != null)
+            b.csv.close();
+    }
+
+    /**
+     * Print a problem with the options and how to give them, then exit.
+     *
+     * @param message problem with the options
+     */
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    /**
+     * Run each board benchmark at every size and density, then the score benchmarks.
+     *
+     * @throws IOException if the score log cannot be created
+     */
+    private void runAll() throws IOException {
+        for (int s = 0; s < SIZES.length; s++) {
+            int height = SIZES[s][0];
+            int width = SIZES[s][1];
+
+            for (double density : DENSITIES) {
+                int numMines = (int)Math.round(height * width * density);
+                Game game = new Game(height, width, numMines);
+                int row = height / 2;
+                int col = width / 2;
+                long[] seed = {0};
+
+                // place mines on a cleared board
+                bench("placeMines", SIZE_NAMES[s], game, new Op() {
+                    @Override
+                    public long run() {
+                        game.clear();
+                        game.placeMines(row, col, seed[0]++);
+                        return game.getNumSafeRemaining();
+                    }
+                });
+
+                // generate numbers on a fixed layout, which the later benchmarks play on whether or
+                // not this one is filtered out
+                game.clear();
+                game.placeMines(row, col, 42L);
+                game.generateNumbers();
+                bench("generateNumbers", SIZE_NAMES[s], game, new Op() {
+                    @Override
+                    public long run() {
+                        game.generateNumbers();
+                        return game.getValue(0);
+                    }
+                });
+
+                // open the first click's region and everything it spreads to
+                RevealEngine revealEngine = new RevealEngine(game);
+                bench("reveal", SIZE_NAMES[s], game, new Op() {
+                    @Override
+                    public long run() {
+                        game.resetStates();
+                        return revealEngine.reveal(row, col);
+                    }
+                });
+
+                // calculate stats of the generated board
+                bench("GameStats", SIZE_NAMES[s], game, new Op() {
+                    @Override
+                    public long run() {
+                        return new GameStats(game).getNumSpaces().length();
+                    }
+                });
+            }
+        }
+
+        Path dir = Files.createTempDirectory("scores");   // keeps the player's scores out of it
+        Scores scores = new Scores(dir);
+        double[] time = {1000};
+
+        // submit steadily improving times so every submission makes the list; this updates the
+        // leaderboard and queues the score, leaving the disk to the writer thread
+        bench("submitScore", "expert", null, new Op() {
+            @Override
+            public long run() {
+                time[0] *= 0.999;
+                return scores.submitScore(time[0], GameDriver.EXPERT) ? 1 : 0;
+            }
+        });
+
+        bench("getScores", "expert", null, new Op() {
+            @Override
+            public long run() {
+                return scores.getScores(GameDriver.EXPERT).length();
+            }
+        });
+
+        scores.close();     // writes what is still queued
+
+        // store one score the way the writer thread does, forced to disk and compacted when due
+        ScoreLog log = new ScoreLog(dir);
+        log.load();
+        long[] seq = {log.getLastSeq()};
+
+        bench("appendScore", "expert", null, new Op() {
+            @Override
+            public long run() {
+                try {
+                    List<ScoreLog.Entry> batch = Collections.singletonList(new ScoreLog.Entry(++seq[0], 16, 30, 99,
+                            false, time[0], seq[0]));
+                    log.append(batch);
+                    log.sync();
+
+                    if (log.isCompactionDue())
+                        log.compact();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                return seq[0];
+            }
+        });
+
+        log.close();
+        deleteDirectory(dir);
+    }
+
+    /**
+     * Delete a folder holding only files.
+     *
+     * @param dir folder to delete
+     * @throws IOException if a file cannot be deleted
+     */
+    private static void deleteDirectory(Path dir) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files)
+                Files.delete(file);
+        }
+
+        Files.delete(dir);
+    }
+
+    /**
+     * Warm up an operation, then measure its throughput and the bytes it allocates.
+     *
+     * @param name name of benchmark
+     * @param size name of board size
+     * @param game game being measured, or null if no board is involved
+     * @param op operation being measured
+     */
+    private void bench(String name, String size, Game game, Op op) {
+        String mines = game == null ? "-" : "" + game.getNumMines();
+        if (!(name + " " + size + " " + mines).contains(filter))
+            return;
+
+        run(op, warmupSeconds);     // let the JIT compile the path first
+
+        long threadId = Thread.currentThread().getId();
+        long startBytes = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long ops = run(op, measureSeconds);
+        long elapsed = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(threadId) - startBytes;
+
+        double opsPerSec = ops * 1e9 / elapsed;
+        double nsPerOp = (double)elapsed / ops;
+        double bytesPerOp = (double)bytes / ops;
+        double mbPerSec = bytes * 1e9 / elapsed / (1 << 20);
+
+        System.out.printf(Locale.ROOT, "%-16s %-13s %10s %14.1f %12.1f %14.1f %10.2f%n", name, size, mines,
+                opsPerSec, nsPerOp, bytesPerOp, mbPerSec);
+
+        if (csv != null) {
+            csv.printf(Locale.ROOT, "%s,%s,%d,%d,%s,%.1f,%.1f,%.1f,%.2f%n", name, size,
+                    game == null ? 0 : game.getHeight(), game == null ? 0 : game.getWidth(), mines,
+                    opsPerSec, nsPerOp, bytesPerOp, mbPerSec);
+            csv.flush();
+        }
+    }
+
+    /**
+     * Run an operation repeatedly for a length of time.
+     *
+     * @param op operation being run
+     * @param seconds length of time to run for
+     * @return number of times the operation ran
+     */
+    private static long run(Op op, double seconds) {
+        long end = System.nanoTime() + (long)(seconds * 1e9);
+        long ops = 0;
+        long result = 0;
+
+        do {
+            result += op.run();
+            ops++;
+        } while (System.nanoTime() < end);
+
+        sink = result;
+        return ops;
+    }
+}
\ No newline at end of file
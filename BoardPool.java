@@ -0,0 +1,252 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Generates boards for one configuration on a background thread, so the first click of a game
+ * only has to take one. Ordinary boards are placed before the first cell is known and handed over
+ * by swapping arrays, then any mines near the first cell are moved away. Boards that need no
+ * guessing depend on the first cell, so one is started on its own thread when the first cell is
+ * pressed, ahead of any refill. take() never waits, so a caller that must not fall back to an
+ * ordinary board asks whenReady() to be told once the board for the released cell is finished, and
+ * takes it then. Expert boards usually take a few milliseconds and rarely more than a press lasts.
+ *
+ * Last update: 10/18/26
+ */
+
+public class BoardPool {
+    public static final int DEFAULT_CAPACITY = 2;   // boards kept ready by default
+
+    private int height;
+    private int width;
+    private int numMines;
+    private int capacity;   // ordinary boards kept ready
+    private NoGuessGenerator noGuess;   // generates boards that need no guessing, or null for ordinary boards
+
+    private ExecutorService executor;   // single background thread generating ordinary boards
+    private ExecutorService pressExecutor;  // thread generating boards for pressed cells, so they never wait behind a refill
+    private ConcurrentLinkedQueue<Game> ready = new ConcurrentLinkedQueue<>();  // boards waiting to be taken
+    private ConcurrentLinkedQueue<Game> spares = new ConcurrentLinkedQueue<>(); // games to generate into again
+    private AtomicInteger pending = new AtomicInteger();    // boards ready or being generated
+
+    private SplittableRandom random = new SplittableRandom();   // used only on the taking thread
+    private SplittableRandom background = random.split();   // used only on the background thread
+
+    // board started for a pressed cell, used only on the taking thread
+    private CompletableFuture<Game> pressed;
+    private int pressedIndex = -1;
+
+    /**
+     * Initialize the pool and start filling it.
+     *
+     * @param height number of rows of each board
+     * @param width number of columns of each board
+     * @param numMines number of mines on each board
+     * @param noGuess true for boards that need no guessing
+     */
+    public BoardPool(int height, int width, int numMines, boolean noGuess) {
+        this(height, width, numMines, noGuess, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialize the pool and start filling it.
+     *
+     * @param height number of rows of each board
+     * @param width number of columns of each board
+     * @param numMines number of mines on each board
+     * @param noGuess true for boards that need no guessing
+     * @param capacity number of ordinary boards to keep ready
+     */
+    public BoardPool(int height, int width, int numMines, boolean noGuess, int capacity) {
+        this.height = height;
+        this.width = width;
+        this.numMines = numMines;
+        this.capacity = capacity;
+
+        if (noGuess)
+            this.noGuess = new NoGuessGenerator(height, width, numMines);
+
+        executor = Executors.newSingleThreadExecutor(daemon("board-pool"));
+        if (noGuess)
+            pressExecutor = Executors.newSingleThreadExecutor(daemon("board-press"));
+
+        refill();
+    }
+
+    /**
+     * Create threads that never keep the program running, so a pool left open does not either.
+     *
+     * @param name name of each thread
+     * @return factory of daemon threads
+     */
+    private static ThreadFactory daemon(String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            }
+        };
+    }
+
+    /**
+     * Start generating boards until the pool is full again. Returns at once.
+     */
+    public void refill() {
+        if (executor.isShutdown())
+            return;
+
+        while (pending.get() < capacity) {
+            pending.incrementAndGet();
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    ready.add(generate());
+                }
+            });
+        }
+    }
+
+    /**
+     * Start generating a board for a cell that may become the first click, if boards depend on it.
+     *
+     * @param row vertical position of pressed cell
+     * @param col horizontal position of pressed cell
+     */
+    public void press(int row, int col) {
+        int index = row * width + col;
+        if (noGuess == null || index == pressedIndex || pressExecutor.isShutdown())
+            return;
+
+        if (pressed != null)
+            pressed.cancel(false);  // drop a board for a cell that was never released on, unless already started
+
+        pressedIndex = index;
+        pressed = CompletableFuture.supplyAsync(new Supplier<Game>() {
+            @Override
+            public Game get() {
+                Game board = spare();
+                board.clear();
+                board.placeMines(row, col, noGuess.generate(row, col));
+                board.generateNumbers();
+                board.getStats();   // calculate statistics here rather than on the EDT
+                return board;
+            }
+        }, pressExecutor);
+    }
+
+    /**
+     * Check whether the board for a released cell is still being generated, starting it if the cell
+     * was never pressed. If it is, the action runs on the generating thread once it is finished, and
+     * take() should be called only then; otherwise take() can be called at once.
+     *
+     * @param row vertical position of first click
+     * @param col horizontal position of first click
+     * @param action run once the board is finished, or its generation has failed or been dropped
+     * @return true if the action will run, false if take() will not have to fall back
+     */
+    public boolean whenReady(int row, int col, Runnable action) {
+        if (noGuess == null || pressExecutor.isShutdown())
+            return false;
+
+        press(row, col);
+        if (pressed.isDone())
+            return false;
+
+        pressed.whenComplete(new BiConsumer<Game, Throwable>() {
+            @Override
+            public void accept(Game board, Throwable failure) {
+                action.run();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Hand a ready board to a game whose mines have not been placed, around its first click. Never
+     * waits for a board: one that needs no guessing is taken only if it was started for this cell
+     * and is finished, and an ordinary board is taken otherwise. See whenReady().
+     *
+     * @param game game to receive the board
+     * @param row vertical position of first click
+     * @param col horizontal position of first click
+     * @return true if the game now has mines and numbers, false if no board was available
+     */
+    public boolean take(Game game, int row, int col) {
+        Game board = null;
+
+        if (pressed != null) {
+            if (pressedIndex == row * width + col && pressed.isDone()) {
+                try {
+                    board = pressed.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    // board is too dense for one without guessing, so take an ordinary one instead
+                }
+            } else {
+                pressed.cancel(false);  // too late for this click
+            }
+
+            pressed = null;
+            pressedIndex = -1;
+        }
+
+        boolean ordinary = board == null;
+        if (ordinary) {
+            board = ready.poll();
+            if (board == null)
+                return false;
+
+            pending.decrementAndGet();
+        }
+
+        game.swapLayout(board);
+        if (ordinary)
+            game.clearZone(row, col, random);
+
+        spares.add(board);  // now holds the game's old arrays, to be generated into again
+        return true;
+    }
+
+    /**
+     * Stop generating boards. Boards already ready are dropped.
+     */
+    public void close() {
+        executor.shutdownNow();
+        if (pressExecutor != null)
+            pressExecutor.shutdownNow();
+        ready.clear();
+        spares.clear();
+    }
+
+    /**
+     * Generate an ordinary board with mines anywhere, to be moved from the first cell when taken.
+     *
+     * @return game holding the board
+     */
+    private Game generate() {
+        Game board = spare();
+        board.clear();
+        board.placeMines(background);
+        board.generateNumbers();
+        board.getStats();   // kept unless clearZone() has to move a mine
+        return board;
+    }
+
+    /**
+     * Get a game to generate into, reusing one whose board was taken if there is one.
+     *
+     * @return game of this pool's size
+     */
+    private Game spare() {
+        Game board = spares.poll();
+        return board != null ? board : new Game(height, width, numMines);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,340 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+
+/**
+ * Paints the board as a single component, drawing each cell straight from the grid. A bounded game is
+ * shown whole; an endless game is shown through a window of fixed size that the arrow keys scroll.
+ *
+ * Last update: 10/18/26
+ */
+
+public class BoardView extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Receives clicks on cells of the board.
+     */
+    public interface CellListener {
+        /**
+         * Called when a mouse button is pressed on a cell.
+         *
+         * @param row vertical position of cell
+         * @param col horizontal position of cell
+         * @param rightButton true if the right mouse button was pressed
+         */
+        void cellPressed(int row, int col, boolean rightButton);
+
+        /**
+         * Called when a mouse button is released on the same cell it was pressed on.
+         *
+         * @param row vertical position of cell
+         * @param col horizontal position of cell
+         * @param rightButton true if the right mouse button was released
+         */
+        void cellReleased(int row, int col, boolean rightButton);
+
+        /**
+         * Called when a mouse button is released anywhere else.
+         */
+        void pressCancelled();
+    }
+
+    private Grid grid;  // grid being displayed
+    private SpriteCache sprites;    // shared images for each tile
+    private int cellSize;   // side length of cell
+
+    // window onto the grid
+    private int rows;
+    private int cols;
+    private int originRow;  // grid row shown at the top
+    private int originCol;  // grid column shown at the left
+    private int homeRow;    // origin the window returns to on reset
+    private int homeCol;
+
+    // display states
+    private int pressedIndex = -1;  // cell of the window held down by the mouse, or -1
+    private boolean pressedShown;   // mouse is still over the held cell
+    private int explodedIndex = -1;     // mine that ended the game, or -1
+    private boolean minesShown;     // mines are displayed after a loss
+
+    /**
+     * Initialize the board showing the whole game.
+     *
+     * @param game game being displayed
+     * @param listener receives clicks on cells
+     */
+    public BoardView(Game game, CellListener listener) {
+        this(game, game.getHeight(), game.getWidth(), 0, 0, listener);
+    }
+
+    /**
+     * Initialize the board showing a window onto an endless game, centered on row and column zero.
+     *
+     * @param endless game being displayed
+     * @param rows height of window in cells
+     * @param cols width of window in cells
+     * @param listener receives clicks on cells
+     */
+    public BoardView(EndlessGame endless, int rows, int cols, CellListener listener) {
+        this(endless, rows, cols, -rows / 2, -cols / 2, listener);
+
+        // scroll the window with the arrow keys
+        String[] keys = {"UP", "DOWN", "LEFT", "RIGHT"};
+        int[][] steps = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+        for (int i = 0; i < keys.length; i++) {
+            int dRow = steps[i][0];
+            int dCol = steps[i][1];
+
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(keys[i]), keys[i]);
+            getActionMap().put(keys[i], new AbstractAction() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    scroll(dRow, dCol);
+                }
+            });
+        }
+    }
+
+    /**
+     * Initialize the board and map mouse positions to cells.
+     *
+     * @param grid grid being displayed
+     * @param rows height of window in cells
+     * @param cols width of window in cells
+     * @param homeRow grid row shown at the top
+     * @param homeCol grid column shown at the left
+     * @param listener receives clicks on cells
+     */
+    private BoardView(Grid grid, int rows, int cols, int homeRow, int homeCol, CellListener listener) {
+        this.grid = grid;
+        this.rows = rows;
+        this.cols = cols;
+        this.homeRow = homeRow;
+        this.homeCol = homeCol;
+        originRow = homeRow;
+        originCol = homeCol;
+        sprites = SpriteCache.get();
+        cellSize = SpriteCache.CELL_SIZE;
+
+        setPreferredSize(new Dimension(cols * cellSize, rows * cellSize));
+        setOpaque(true);
+
+        // add listener to handle interaction with user
+        MouseAdapter adapter = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int index = getIndexAt(e.getX(), e.getY());
+                if (index < 0)
+                    return;
+
+                setPressed(index, true);
+                listener.cellPressed(originRow + index / cols, originCol + index % cols,
+                        SwingUtilities.isRightMouseButton(e));
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                // show the held cell as pressed only while the mouse is over it
+                if (pressedIndex >= 0)
+                    setPressed(pressedIndex, getIndexAt(e.getX(), e.getY()) == pressedIndex);
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                int index = pressedIndex;
+                boolean sameCell = index >= 0 && getIndexAt(e.getX(), e.getY()) == index;
+
+                setPressed(index, false);
+                pressedIndex = -1;
+
+                if (sameCell)
+                    listener.cellReleased(originRow + index / cols, originCol + index % cols,
+                            SwingUtilities.isRightMouseButton(e));
+                else
+                    listener.pressCancelled();
+            }
+        };
+
+        addMouseListener(adapter);
+        addMouseMotionListener(adapter);
+    }
+
+    /**
+     * Return board to its unplayed display state.
+     */
+    public void reset() {
+        pressedIndex = -1;
+        pressedShown = false;
+        explodedIndex = -1;
+        minesShown = false;
+        originRow = homeRow;
+        originCol = homeCol;
+        repaint();
+    }
+
+    /**
+     * Move the window across the grid, dropping any held cell.
+     *
+     * @param dRow rows to move down
+     * @param dCol columns to move right
+     */
+    public void scroll(int dRow, int dCol) {
+        pressedIndex = -1;
+        pressedShown = false;
+        originRow += dRow;
+        originCol += dCol;
+        repaint();
+    }
+
+    /**
+     * Display every mine and wrongly-placed flag after a loss.
+     *
+     * @param index mine that ended the game
+     */
+    public void showMines(int index) {
+        explodedIndex = index;
+        minesShown = true;
+        repaint();
+    }
+
+    /**
+     * Repaint only the area of the window covered by a batch of changed cells.
+     *
+     * @param indices grid indices of changed cells
+     * @param count number of valid entries in indices
+     */
+    public void repaintCells(int[] indices, int count) {
+        int minRow = Integer.MAX_VALUE, maxRow = -1, minCol = Integer.MAX_VALUE, maxCol = -1;
+
+        // find bounding box of the batch, skipping cells outside the window
+        for (int k = 0; k < count; k++) {
+            int row = grid.getRow(indices[k]) - originRow;
+            int col = grid.getCol(indices[k]) - originCol;
+
+            if (row < 0 || row >= rows || col < 0 || col >= cols)
+                continue;
+
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minCol = Math.min(minCol, col);
+            maxCol = Math.max(maxCol, col);
+        }
+
+        if (maxRow < 0)
+            return;
+
+        repaint(minCol * cellSize, minRow * cellSize,
+                (maxCol - minCol + 1) * cellSize, (maxRow - minRow + 1) * cellSize);
+    }
+
+    /**
+     * Repaint the area covered by a single cell of the window.
+     *
+     * @param index position of cell in the window
+     */
+    private void repaintCell(int index) {
+        int row = index / cols;
+        int col = index % cols;
+
+        repaint(col * cellSize, row * cellSize, cellSize, cellSize);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null)
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        // paint only the cells inside the clip
+        int firstRow = Math.max(clip.y / cellSize, 0);
+        int lastRow = Math.min((clip.y + clip.height - 1) / cellSize, rows - 1);
+        int firstCol = Math.max(clip.x / cellSize, 0);
+        int lastCol = Math.min((clip.x + clip.width - 1) / cellSize, cols - 1);
+
+        for (int i = firstRow; i <= lastRow; i++) {
+            for (int j = firstCol; j <= lastCol; j++) {
+                int index = grid.findIndex(originRow + i, originCol + j);   // never creates spaces
+                boolean pressed = i * cols + j == pressedIndex && pressedShown;
+
+                g.drawImage(sprites.getTile(getTile(index, pressed)), j * cellSize, i * cellSize, null);
+            }
+        }
+    }
+
+    /**
+     * Determine which tile to draw for a cell.
+     *
+     * @param index grid index of cell, or -1 if it has never been reached
+     * @param pressed true if the cell is held down by the mouse
+     * @return value of space 0 through 8, or tile constant
+     */
+    private int getTile(int index, boolean pressed) {
+        if (index < 0)
+            return pressed && !minesShown ? 0 : SpriteCache.UNOPENED;
+
+        if (minesShown) {
+            if (index == explodedIndex)
+                return SpriteCache.CLICKED_MINE;
+
+            boolean mine = grid.isMine(index);
+            boolean flagged = grid.isFlagged(index);
+
+            if (mine && !flagged)
+                return SpriteCache.MINE;
+            if (flagged && !mine)
+                return SpriteCache.WRONG_MINE;
+        }
+
+        if (grid.isCleared(index))
+            return grid.getValue(index);
+        if (grid.isFlagged(index))
+            return SpriteCache.FLAG;
+        if (grid.isMarked(index))
+            return SpriteCache.QMARK;
+        if (pressed && !minesShown)
+            return 0;   // held cell is drawn as an opened empty space
+
+        return SpriteCache.UNOPENED;
+    }
+
+    /**
+     * Convert a point on the component to the cell of the window beneath it.
+     *
+     * @param x horizontal position in pixels
+     * @param y vertical position in pixels
+     * @return position of cell in the window, or -1 if the point is off the board
+     */
+    private int getIndexAt(int x, int y) {
+        if (x < 0 || y < 0)
+            return -1;
+
+        int row = y / cellSize;
+        int col = x / cellSize;
+
+        if (row >= rows || col >= cols)
+            return -1;
+
+        return row * cols + col;
+    }
+
+    /**
+     * Update the held cell and repaint it if its appearance changed.
+     *
+     * @param index position of cell in the window
+     * @param shown true if the cell should appear pressed
+     */
+    private void setPressed(int index, boolean shown) {
+        if (index < 0)
+            return;
+
+        boolean changed = pressedIndex != index || pressedShown != shown;
+
+        pressedIndex = index;
+        pressedShown = shown;
+
+        if (changed)
+            repaintCell(index);
+    }
+}
\ No newline at end of file
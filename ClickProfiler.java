@@ -0,0 +1,358 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Measures where the time of each click goes, from the mouse release to the painted result: getting
+ * the board at the first reveal, opening spaces, and waiting for the repaint. A background thread
+ * also posts a probe to the EDT at a fixed interval, so time the EDT spends busy shows up as probes
+ * waiting, even outside of clicks. Every measurement goes into a histogram and each click and long
+ * stall is also a JFR event, which costs almost nothing unless a recording is running. The
+ * histograms are shown by summary() and written by the background thread to a plain text file, so
+ * they can be read while the game runs. A shutdown hook writes the file a last time when the program
+ * exits.
+ *
+ * Last update: 10/18/26
+ */
+
+public class ClickProfiler {
+    // actions measured
+    public static final int REVEAL = 0;
+    public static final int CHORD = 1;
+    public static final int MARK = 2;
+    private static final String[] ACTION_NAMES = {"reveal", "chord", "mark"};
+
+    private static final long PROBE_INTERVAL = 100;     // milliseconds between probes of the EDT
+    private static final int DUMP_PROBES = 50;  // probes between writes of the text file
+    private static final int STALL_MILLIS = 50;     // probe delay reported as a stall
+    private static final int MAX_MICROS = 100000;   // longer times count as this, bounding the histograms
+    private static final int MAX_MILLIS = 10000;
+
+    // histograms, guarded by this
+    private Histogram revealSize = new Histogram();     // spaces opened by each reveal or chord
+    private Histogram fillTime = new Histogram();   // microseconds each reveal or chord took to open spaces
+    private Histogram generationTime = new Histogram();     // microseconds each first reveal took to get a board
+    private Histogram paintTime = new Histogram();  // microseconds from each click to its painted result
+    private Histogram edtDelay = new Histogram();   // milliseconds each probe waited for the EDT
+    private long pooledBoards;  // first reveals that took a board from the pool
+    private long numStalls;     // probes that waited at least STALL_MILLIS
+    private boolean changed;    // something was recorded since the file was written
+
+    // click being handled, used only on the EDT
+    private ClickEvent click;
+    private long clickStart;    // System.nanoTime() when the click was handled
+
+    private Path file;  // plain text summary, rewritten as measurements come in
+    private Thread monitor;
+    private Thread shutdownHook;
+    private volatile boolean probing;   // a probe is waiting for the EDT
+
+    /**
+     * Event for one click, lasting from the mouse release to the painted result.
+     */
+    @Name("minesweeper.Click")
+    @Label("Click")
+    @Category("Minesweeper")
+    @Description("Click on the board, from the mouse release until its result was painted")
+    static class ClickEvent extends Event {
+        @Label("Action")
+        String action;
+
+        @Label("Row")
+        int row;
+
+        @Label("Column")
+        int col;
+
+        @Label("Spaces Opened")
+        int spaces;
+
+        @Label("Board From Pool")
+        boolean pooled;
+
+        @Label("Generation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long generation;
+
+        @Label("Fill Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long fill;
+    }
+
+    /**
+     * Event for a probe that waited at least STALL_MILLIS for the EDT.
+     */
+    @Name("minesweeper.EdtStall")
+    @Label("EDT Stall")
+    @Category("Minesweeper")
+    @Description("Event dispatch thread too busy to run a posted probe")
+    static class EdtStallEvent extends Event {
+        @Label("Delay")
+        @Timespan(Timespan.NANOSECONDS)
+        long delay;
+    }
+
+    /**
+     * Start probing the EDT, writing the summary to the default file under the user's home.
+     */
+    public ClickProfiler() {
+        this(Paths.get(System.getProperty("user.home"), ".minesweeper", "latency.txt"));
+    }
+
+    /**
+     * Start probing the EDT.
+     *
+     * @param file file the summary is written to, or null to write none
+     */
+    public ClickProfiler(Path file) {
+        this.file = file;
+
+        // a daemon thread, since losing the last few probes at exit costs nothing
+        monitor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                monitor();
+            }
+        }, "edt-monitor");
+        monitor.setDaemon(true);
+        monitor.start();
+
+        shutdownHook = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                close();
+            }
+        }, "latency-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Post a probe to the EDT at each interval, unless the last one is still waiting, and write the
+     * summary now and then.
+     */
+    private void monitor() {
+        try {
+            for (int n = 1; ; n++) {
+                Thread.sleep(PROBE_INTERVAL);
+
+                if (!probing) {
+                    probing = true;
+                    final long posted = System.nanoTime();
+
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            probed(System.nanoTime() - posted);
+                        }
+                    });
+                }
+
+                if (n % DUMP_PROBES == 0)
+                    write();
+            }
+        } catch (InterruptedException e) {
+            // stopped by close()
+        }
+    }
+
+    /**
+     * Record how long a probe waited for the EDT. Called on the EDT.
+     *
+     * @param delay nanoseconds from posting the probe to running it
+     */
+    private void probed(long delay) {
+        int millis = (int)Math.min(delay / 1000000, MAX_MILLIS);
+
+        synchronized (this) {
+            edtDelay.add(millis);
+            if (millis >= STALL_MILLIS)
+                numStalls++;
+            changed = true;
+        }
+
+        if (millis >= STALL_MILLIS) {
+            EdtStallEvent event = new EdtStallEvent();
+            if (event.shouldCommit()) {
+                event.delay = delay;
+                event.commit();
+            }
+        }
+
+        probing = false;
+    }
+
+    /**
+     * Start timing a click, as soon as the mouse is released. Called on the EDT.
+     */
+    public void begin() {
+        click = new ClickEvent();
+        click.begin();
+        clickStart = System.nanoTime();
+    }
+
+    /**
+     * Record the click started by begin(), whose result has been handed to the board for
+     * repainting. The time to paint is taken when a task posted after the repaint runs. Called on
+     * the EDT.
+     *
+     * @param action REVEAL, CHORD, or MARK
+     * @param row vertical position of the cell clicked
+     * @param col horizontal position of the cell clicked
+     * @param spaces number of spaces the click changed
+     * @param generation nanoseconds spent getting the board, or 0 if the click did not start the game
+     * @param pooled the board was taken from the pool
+     * @param fill nanoseconds spent opening spaces, not counting generation
+     */
+    public void clicked(int action, int row, int col, int spaces, long generation, boolean pooled, long fill) {
+        final ClickEvent event = click;
+        final long start = clickStart;
+        event.action = ACTION_NAMES[action];
+        event.row = row;
+        event.col = col;
+        event.spaces = spaces;
+        event.pooled = pooled;
+        event.generation = generation;
+        event.fill = fill;
+
+        synchronized (this) {
+            if (action != MARK) {
+                revealSize.add(spaces);
+                fillTime.add(micros(fill));
+            }
+
+            if (generation > 0) {
+                generationTime.add(micros(generation));
+                if (pooled)
+                    pooledBoards++;
+            }
+
+            changed = true;
+        }
+
+        // runs after the paint queued by the repaint
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                long end = System.nanoTime();
+
+                synchronized (ClickProfiler.this) {
+                    paintTime.add(micros(end - start));
+                }
+
+                event.end();
+                event.commit();
+            }
+        });
+    }
+
+    /**
+     * Convert a time to whole microseconds within the range of the histograms.
+     *
+     * @param nanos time in nanoseconds
+     * @return microseconds, at most MAX_MICROS
+     */
+    private static int micros(long nanos) {
+        return (int)Math.min(nanos / 1000, MAX_MICROS);
+    }
+
+    /**
+     * Summarize every histogram as plain text, one line each, with columns separated by spaces.
+     *
+     * @return summary of the measurements so far
+     */
+    public synchronized String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "# %s, %d boards from pool, %d stalls of %d ms or more%n",
+                Instant.now(), pooledBoards, numStalls, STALL_MILLIS));
+        sb.append(String.format(Locale.ROOT, "%-16s %-6s %8s %10s %7s %7s %7s %7s%n", "metric", "unit", "count",
+                "mean", "p50", "p90", "p99", "max"));
+
+        line(sb, "reveal_size", "spaces", revealSize);
+        line(sb, "fill_time", "us", fillTime);
+        line(sb, "generation_time", "us", generationTime);
+        line(sb, "click_to_paint", "us", paintTime);
+        line(sb, "edt_delay", "ms", edtDelay);
+
+        return sb.toString();
+    }
+
+    /**
+     * Append one line summarizing a histogram.
+     *
+     * @param sb summary being built
+     * @param name name of the measurement
+     * @param unit unit of the values
+     * @param h histogram of the measurement
+     */
+    private static void line(StringBuilder sb, String name, String unit, Histogram h) {
+        sb.append(String.format(Locale.ROOT, "%-16s %-6s %8d %10.1f %7d %7d %7d %7d%n", name, unit, h.getTotal(),
+                h.getTotal() == 0 ? 0 : h.getMean(), h.percentile(0.5), h.percentile(0.9), h.percentile(0.99),
+                h.getMax()));
+    }
+
+    /**
+     * Write the summary to the file if anything was recorded since it was last written. The file is
+     * replaced in one step, so a reader never sees half of it.
+     */
+    public void write() {
+        String text;
+
+        synchronized (this) {
+            if (file == null || !changed)
+                return;
+
+            changed = false;
+            text = summary();
+        }
+
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            if (dir != null)
+                Files.createDirectories(dir);
+
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, text.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();    // display stack trace in case of error
+        }
+    }
+
+    /**
+     * Stop probing the EDT and write the summary a last time. Called by the shutdown hook when the
+     * program exits.
+     */
+    public void close() {
+        monitor.interrupt();
+        write();
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // already shutting down, which is how this was called
+        }
+    }
+
+    // accessor methods
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized long getNumStalls() {
+        return numStalls;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,547 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Models a board with no edges, split into fixed-size chunks that are generated the first time play
+ * touches them. Mines in each chunk come from the seed and the chunk's position, so a chunk evicted
+ * from memory only needs its states written to the local store; its mines and numbers are generated
+ * again when it is next touched. Memory grows with the explored area rather than the board.
+ * <p>
+ * The board is a Grid, so GameEngine and RevealEngine play it like any other. Each resident chunk
+ * holds a slot, and the index of a space is its slot times the spaces in a chunk plus its place in
+ * the chunk. Chunks are evicted only by trim(), which GameEngine calls before each action, so the
+ * indices of one action stay valid until the next.
+ *
+ * Last update: 10/18/26
+ */
+
+public class EndlessGame implements Grid {
+    public static final int CHUNK_BITS = 5;
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;   // side length of chunk
+    private static final int CHUNK_SPACES = CHUNK_SIZE * CHUNK_SIZE;
+    private static final int CHUNK_WORDS = CHUNK_SPACES / 64;   // longs in each bitset of a chunk
+    private static final int RECORD_SIZE = 3 * CHUNK_WORDS * 8;     // bytes of stored states per chunk
+
+    private static final int DEFAULT_MAX_CHUNKS = 4096;     // chunks held in memory before eviction
+    private static final int MIN_CHUNKS = 16;
+
+    // below about one mine in ten, empty spaces connect without end and one reveal would never stop
+    public static final double MIN_DENSITY = 0.12;
+
+    private SplittableRandom seeds;     // source of the seed of each new world
+    private long seed;  // seed every chunk's mines are placed from
+    private double density;
+    private int maxChunks;  // chunks held in memory before eviction
+
+    // first cell clicked, whose neighborhood never holds a mine
+    private boolean started;
+    private int startRow;
+    private int startCol;
+
+    // resident chunks
+    private HashMap<Long, Chunk> chunks;    // by packed position
+    private Chunk[] slots;  // by slot, the high part of each index
+    private int numSlots;   // slots ever handed out
+    private int[] freeSlots;    // slots of evicted chunks, to be handed out again
+    private int numFreeSlots;
+    private long uses;  // actions so far, stamped on each chunk touched
+
+    // evicted chunks
+    private HashMap<Long, Long> stored;     // offset of each evicted chunk in the store
+    private Path storePath;     // local file holding evicted chunks
+    private FileChannel store;
+    private ByteBuffer record;  // reused buffer for one stored chunk
+
+    // scratch games reused to generate each chunk
+    private Game layout;    // mines of one chunk
+    private Game numbers;   // mines of a chunk and its border, numbered by Game
+
+    // running counters
+    private long numCleared;    // safe spaces opened
+    private long numFlags;
+
+    /**
+     * Holds the values and states of one chunk.
+     */
+    private static class Chunk {
+        private int cy;     // vertical position of chunk
+        private int cx;     // horizontal position of chunk
+        private int slot;
+        private long lastUsed;  // action that last touched the chunk
+        private byte[] values;
+        private long[] cleared = new long[CHUNK_WORDS];
+        private long[] flagged = new long[CHUNK_WORDS];
+        private long[] marked = new long[CHUNK_WORDS];
+        private boolean dirty;  // states changed since the chunk was generated or loaded
+    }
+
+    /**
+     * Set properties of the game, storing evicted chunks in a temporary file.
+     *
+     * @param seed seed the worlds are drawn from
+     * @param density fraction of spaces that are mines
+     */
+    public EndlessGame(long seed, double density) {
+        this(seed, density, DEFAULT_MAX_CHUNKS, null);
+    }
+
+    /**
+     * Set properties of the game.
+     *
+     * @param seed seed the worlds are drawn from
+     * @param density fraction of spaces that are mines
+     * @param maxChunks chunks held in memory before the least recently used are evicted
+     * @param storePath file to store evicted chunks in, or null for a temporary file
+     */
+    public EndlessGame(long seed, double density, int maxChunks, Path storePath) {
+        if (density < MIN_DENSITY || density >= 1)
+            throw new IllegalArgumentException("Density must be at least " + MIN_DENSITY + " and below 1");
+
+        this.density = density;
+        this.maxChunks = Math.max(maxChunks, MIN_CHUNKS);
+        this.storePath = storePath;
+        seeds = new SplittableRandom(seed);
+
+        chunks = new HashMap<>();
+        slots = new Chunk[64];
+        freeSlots = new int[64];
+        stored = new HashMap<>();
+        record = ByteBuffer.allocate(RECORD_SIZE);
+
+        layout = new Game(CHUNK_SIZE, CHUNK_SIZE, (int)Math.round(density * CHUNK_SPACES));
+        numbers = new Game(CHUNK_SIZE + 2, CHUNK_SIZE + 2, 0);
+
+        clear();
+    }
+
+    /**
+     * Start a new world from the next seed, dropping every chunk of the old one.
+     */
+    public void clear() {
+        chunks.clear();
+        Arrays.fill(slots, null);
+        numSlots = 0;
+        numFreeSlots = 0;
+        uses = 0;
+
+        stored.clear();
+        try {
+            if (store != null)
+                store.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        seed = seeds.nextLong();
+        started = false;
+        numCleared = 0;
+        numFlags = 0;
+    }
+
+    /**
+     * Keep the neighborhood of the first cell clicked free of mines, regenerating chunks touched
+     * before it.
+     *
+     * @param row vertical position of the first cell clicked
+     * @param col horizontal position of the first cell clicked
+     */
+    public void start(int row, int col) {
+        started = true;
+        startRow = row;
+        startCol = col;
+
+        for (Chunk chunk : chunks.values())
+            chunk.values = generate(chunk.cy, chunk.cx);
+    }
+
+    /**
+     * Evict the least recently used chunks once more are resident than allowed, writing their
+     * states to the store. Indices of evicted chunks become invalid, so this is called only between
+     * actions.
+     */
+    public void trim() {
+        uses++;
+
+        if (chunks.size() <= maxChunks)
+            return;
+
+        // evict down to three quarters of the limit, so eviction does not run on every action
+        List<Chunk> resident = new ArrayList<>(chunks.values());
+        Collections.sort(resident, new Comparator<Chunk>() {
+            @Override
+            public int compare(Chunk a, Chunk b) {
+                return Long.compare(a.lastUsed, b.lastUsed);
+            }
+        });
+
+        try {
+            for (int k = 0; k < resident.size() - maxChunks * 3 / 4; k++) {
+                Chunk chunk = resident.get(k);
+                save(chunk);
+                chunks.remove(key(chunk.cy, chunk.cx));
+                slots[chunk.slot] = null;
+                freeSlots[numFreeSlots++] = chunk.slot;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write every changed chunk to the store and close it.
+     */
+    public void close() {
+        try {
+            for (Chunk chunk : chunks.values())
+                save(chunk);
+
+            if (store != null)
+                store.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean contains(int row, int col) {
+        return true;    // the board has no edges
+    }
+
+    public int getIndex(int row, int col) {
+        return getChunk(row >> CHUNK_BITS, col >> CHUNK_BITS).slot * CHUNK_SPACES + localIndex(row, col);
+    }
+
+    public int findIndex(int row, int col) {
+        long key = key(row >> CHUNK_BITS, col >> CHUNK_BITS);
+        if (!chunks.containsKey(key) && !stored.containsKey(key))
+            return -1;
+
+        return getIndex(row, col);
+    }
+
+    public int getRow(int index) {
+        return (slots[index / CHUNK_SPACES].cy << CHUNK_BITS) + ((index & (CHUNK_SPACES - 1)) >> CHUNK_BITS);
+    }
+
+    public int getCol(int index) {
+        return (slots[index / CHUNK_SPACES].cx << CHUNK_BITS) + (index & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Find the spaces around a space, bringing in the chunks next to it if it lies on an edge.
+     *
+     * @param index index of space
+     * @param neighbors receives the index of each neighbor, with room for eight
+     * @return number of neighbors, always eight
+     */
+    public int getNeighbors(int index, int[] neighbors) {
+        Chunk chunk = slots[index / CHUNK_SPACES];
+        int base = index - (index & (CHUNK_SPACES - 1));
+        int r = (index & (CHUNK_SPACES - 1)) >> CHUNK_BITS;
+        int c = index & (CHUNK_SIZE - 1);
+        int n = 0;
+
+        chunk.lastUsed = uses;
+
+        for (int i = r - 1; i <= r + 1; i++) {
+            for (int j = c - 1; j <= c + 1; j++) {
+                if (i == r && j == c)
+                    continue;
+
+                if (i >= 0 && i < CHUNK_SIZE && j >= 0 && j < CHUNK_SIZE)
+                    neighbors[n++] = base + i * CHUNK_SIZE + j;
+                else
+                    neighbors[n++] = getIndex((chunk.cy << CHUNK_BITS) + i, (chunk.cx << CHUNK_BITS) + j);
+            }
+        }
+
+        return n;
+    }
+
+    public boolean isMine(int index) {
+        return getValue(index) == Game.MINE;
+    }
+
+    public int getValue(int index) {
+        return slots[index / CHUNK_SPACES].values[index & (CHUNK_SPACES - 1)];
+    }
+
+    public boolean isCleared(int index) {
+        return isSet(slots[index / CHUNK_SPACES].cleared, index & (CHUNK_SPACES - 1));
+    }
+
+    public boolean isFlagged(int index) {
+        return isSet(slots[index / CHUNK_SPACES].flagged, index & (CHUNK_SPACES - 1));
+    }
+
+    public boolean isMarked(int index) {
+        return isSet(slots[index / CHUNK_SPACES].marked, index & (CHUNK_SPACES - 1));
+    }
+
+    public void setCleared(int index, boolean state) {
+        Chunk chunk = slots[index / CHUNK_SPACES];
+
+        // count only safe spaces, so an opened mine does not add to the score
+        if (set(chunk, chunk.cleared, index & (CHUNK_SPACES - 1), state) && !isMine(index))
+            numCleared += state ? 1 : -1;
+    }
+
+    public void setFlagged(int index, boolean state) {
+        Chunk chunk = slots[index / CHUNK_SPACES];
+
+        if (set(chunk, chunk.flagged, index & (CHUNK_SPACES - 1), state))
+            numFlags += state ? 1 : -1;
+    }
+
+    public void setMarked(int index, boolean state) {
+        Chunk chunk = slots[index / CHUNK_SPACES];
+        set(chunk, chunk.marked, index & (CHUNK_SPACES - 1), state);
+    }
+
+    /**
+     * Find a chunk, loading or generating it if it is not resident.
+     *
+     * @param cy vertical position of chunk
+     * @param cx horizontal position of chunk
+     * @return chunk, stamped as used by the current action
+     */
+    private Chunk getChunk(int cy, int cx) {
+        long key = key(cy, cx);
+        Chunk chunk = chunks.get(key);
+
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunk.cy = cy;
+            chunk.cx = cx;
+            chunk.values = generate(cy, cx);
+
+            try {
+                load(key, chunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            // take a slot, reusing one an evicted chunk left
+            if (numFreeSlots > 0) {
+                chunk.slot = freeSlots[--numFreeSlots];
+            } else {
+                if (numSlots == slots.length) {
+                    slots = Arrays.copyOf(slots, slots.length * 2);
+                    freeSlots = Arrays.copyOf(freeSlots, slots.length);
+                }
+                chunk.slot = numSlots++;
+            }
+
+            slots[chunk.slot] = chunk;
+            chunks.put(key, chunk);
+        }
+
+        chunk.lastUsed = uses;
+        return chunk;
+    }
+
+    /**
+     * Generate the values of a chunk. Its mines and those of its eight neighbors are placed on a
+     * grid one space larger on each side, which Game then numbers.
+     *
+     * @param cy vertical position of chunk
+     * @param cx horizontal position of chunk
+     * @return value of each space of the chunk
+     */
+    private byte[] generate(int cy, int cx) {
+        numbers.clear();
+
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                placeMines(cy + i, cx + j);
+
+                // copy the mines that fall on the larger grid
+                for (int local = 0; local < CHUNK_SPACES; local++) {
+                    int r = i * CHUNK_SIZE + (local >> CHUNK_BITS) + 1;
+                    int c = j * CHUNK_SIZE + (local & (CHUNK_SIZE - 1)) + 1;
+
+                    if (r >= 0 && r < CHUNK_SIZE + 2 && c >= 0 && c < CHUNK_SIZE + 2 && layout.isMine(local))
+                        numbers.setValue(r, c, Game.MINE);
+                }
+            }
+        }
+
+        numbers.generateNumbers(Game.SCAN_NUMBERS);
+
+        byte[] values = new byte[CHUNK_SPACES];
+        for (int local = 0; local < CHUNK_SPACES; local++)
+            values[local] = (byte)numbers.getValue((local >> CHUNK_BITS) + 1, (local & (CHUNK_SIZE - 1)) + 1);
+
+        return values;
+    }
+
+    /**
+     * Place the mines of a chunk on the layout game from the seed and the chunk's position, then
+     * remove any that fall next to the first cell clicked.
+     *
+     * @param cy vertical position of chunk
+     * @param cx horizontal position of chunk
+     */
+    private void placeMines(int cy, int cx) {
+        layout.clear();
+        layout.placeMines(new SplittableRandom(seed ^ (cy * 0x9E3779B97F4A7C15L) ^ (cx * 0xC2B2AE3D27D4EB4FL)));
+
+        // keep the neighborhood of the first cell clicked free of mines
+        for (int i = startRow - 1; started && i <= startRow + 1; i++) {
+            for (int j = startCol - 1; j <= startCol + 1; j++) {
+                if (i >> CHUNK_BITS == cy && j >> CHUNK_BITS == cx)
+                    layout.setValue(i & (CHUNK_SIZE - 1), j & (CHUNK_SIZE - 1), Game.VOID);
+            }
+        }
+    }
+
+    /**
+     * Write the states of a changed chunk to the store, reusing its slot if it was stored before.
+     *
+     * @param chunk chunk being written
+     * @throws IOException if the store cannot be written
+     */
+    private void save(Chunk chunk) throws IOException {
+        if (!chunk.dirty)
+            return;
+
+        if (store == null) {
+            if (storePath == null) {
+                storePath = Files.createTempFile("minesweeper-chunks", ".bin");
+                storePath.toFile().deleteOnExit();
+            }
+
+            store = FileChannel.open(storePath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+
+        long key = key(chunk.cy, chunk.cx);
+        Long offset = stored.get(key);
+        if (offset == null) {
+            offset = (long)stored.size() * RECORD_SIZE;
+            stored.put(key, offset);
+        }
+
+        record.clear();
+        for (long[] bits : new long[][]{chunk.cleared, chunk.flagged, chunk.marked}) {
+            for (long word : bits)
+                record.putLong(word);
+        }
+        record.flip();
+
+        while (record.hasRemaining())
+            store.write(record, offset + record.position());
+
+        chunk.dirty = false;
+    }
+
+    /**
+     * Restore the states of a chunk that was evicted earlier.
+     *
+     * @param key packed position of chunk
+     * @param chunk freshly generated chunk to fill in
+     * @throws IOException if the store cannot be read
+     */
+    private void load(long key, Chunk chunk) throws IOException {
+        Long offset = stored.get(key);
+        if (offset == null)
+            return;
+
+        record.clear();
+        while (record.hasRemaining()) {
+            if (store.read(record, offset + record.position()) < 0)
+                throw new IOException("Chunk store is truncated");
+        }
+        record.flip();
+
+        for (long[] bits : new long[][]{chunk.cleared, chunk.flagged, chunk.marked}) {
+            for (int i = 0; i < bits.length; i++)
+                bits[i] = record.getLong();
+        }
+    }
+
+    /**
+     * Pack the position of a chunk into a key.
+     *
+     * @param cy vertical position of chunk
+     * @param cx horizontal position of chunk
+     * @return key of chunk
+     */
+    private static long key(int cy, int cx) {
+        return ((long)cy << 32) | (cx & 0xffffffffL);
+    }
+
+    /**
+     * Convert a position on the board to its index within its chunk.
+     *
+     * @param row vertical location of space
+     * @param col horizontal location of space
+     * @return index within chunk
+     */
+    private static int localIndex(int row, int col) {
+        return (row & (CHUNK_SIZE - 1)) * CHUNK_SIZE + (col & (CHUNK_SIZE - 1));
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Set a bit of a chunk's states.
+     *
+     * @param chunk chunk holding the bitset
+     * @param bits bitset of the chunk
+     * @param index index within chunk
+     * @param state new state
+     * @return true if the state changed
+     */
+    private static boolean set(Chunk chunk, long[] bits, int index, boolean state) {
+        if (isSet(bits, index) == state)
+            return false;
+
+        bits[index >>> 6] ^= 1L << index;
+        chunk.dirty = true;
+        return true;
+    }
+
+    // accessor methods
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getDensity() {
+        return density;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    public long getNumCleared() {
+        return numCleared;
+    }
+
+    public long getNumFlags() {
+        return numFlags;
+    }
+
+    public int getNumResidentChunks() {
+        return chunks.size();
+    }
+
+    public int getNumStoredChunks() {
+        return stored.size();
+    }
+}
\ No newline at end of file
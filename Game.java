@@ -1,21 +1,50 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
 /**
  * Models the game and handles all logic.
  *
  * @author Jake Koontz
- * Last update: 7/17/17
+ * Last update: 10/18/26
  */
 
-public class Game {
+public class Game implements Grid {
     // constants used to represent values of space
     public static final int VOID = -2;  // space with no assigned value
     public static final int MINE = -1;
 
+    // constants used to choose how numbers are generated
+    public static final int SCAN_NUMBERS = 0;   // check the neighbors of every space
+    public static final int MINE_NUMBERS = 1;   // add one to the neighbors of every mine
+    public static final int PARALLEL_NUMBERS = 2;   // add from mines in row strips across all cores
+
+    private static final int PARALLEL_THRESHOLD = 1 << 18;  // spaces before generation goes parallel
+    private static final int STRIP_SIZE = 1 << 16;  // spaces handled by each parallel strip
+
     // game properties
     private int height;
     private int width;
     private int numMines;
+    private long seed;  // seed the mines were placed from
+    private boolean seeded;     // placeMines(row, col, seed) rebuilds the current mines
+    private int seedIndex;  // first cell clicked when the mines were placed from the seed
+    private GameStats stats;    // statistics of the current board, or null until they are asked for
+
+    private byte[] cells;   // value of each space, indexed by row * width + col
+    private long[] mines;   // bitset marking which spaces hold a mine
+
+    // bitsets holding the state of each space
+    private long[] cleared;     // space has been opened up
+    private long[] flagged;     // space has been flagged
+    private long[] marked;      // space has been flagged or question marked
 
-    private int[][] grid;   // array to represent values of spaces
+    // running counters, updated on each change of state
+    private int numSafeRemaining;   // non-mine spaces that have not been opened
+    private int numFlags;   // flags currently placed
 
     /**
      * Set properties of the game and initialize model of the game.
@@ -31,13 +60,37 @@ public class Game {
         this.numMines = numMines;
 
         // initialize grid
-        grid = new int[height][width];
+        cells = new byte[height * width];
+        mines = new long[(cells.length + 63) >>> 6];
+        cleared = new long[mines.length];
+        flagged = new long[mines.length];
+        marked = new long[mines.length];
 
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                grid[i][j] = VOID;
-            }
-        }
+        clear();
+    }
+
+    /**
+     * Empty every space on the grid and reset the state of each space.
+     */
+    public void clear() {
+        Arrays.fill(cells, (byte)VOID);
+        Arrays.fill(mines, 0L);
+        seeded = false;
+        stats = null;
+
+        resetStates();
+    }
+
+    /**
+     * Reset the state of each space while keeping the mines and numbers, so the same board can be played again.
+     */
+    public void resetStates() {
+        Arrays.fill(cleared, 0L);
+        Arrays.fill(flagged, 0L);
+        Arrays.fill(marked, 0L);
+
+        numSafeRemaining = cells.length - numMines;
+        numFlags = 0;
     }
 
     /**
@@ -47,58 +100,438 @@ public class Game {
      * @param col horizontal position of the first cell clicked
      */
     public void placeMines(int row, int col) {
-        int mineCount = 0;  // number of mines currently placed
-        int randRow;
-        int randCol;
-
-        while (mineCount < numMines) {
-            // randomly select spot on grid
-            randRow = (int)(Math.random() * height);
-            randCol = (int)(Math.random() * width);
-
-            // verify that space does not already have a mine and is farther than one space away from first cell clicked
-            if (grid[randRow][randCol] == VOID && (Math.abs(randRow - row) > 1 || Math.abs(randCol - col) > 1)) {
-                grid[randRow][randCol] = MINE;  // set value of space
-                mineCount++;
+        placeMines(row, col, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Place mines on the grid from a seed, so the same seed and first cell always give the same board.
+     *
+     * @param row vertical position of the first cell clicked
+     * @param col horizontal position of the first cell clicked
+     * @param seed seed for the random generator
+     */
+    public void placeMines(int row, int col, long seed) {
+        placeMines(row, col, new SplittableRandom(seed));
+        this.seed = seed;
+        seedIndex = row * width + col;
+        seeded = true;
+    }
+
+    /**
+     * Place mines on every space farther than one space away from the first cell clicked, each
+     * layout being equally likely. Uses Floyd's sampling over the eligible spaces, with the mine
+     * bitset as the chosen set, so exactly min(numMines, eligible - numMines) random draws are made.
+     *
+     * @param row vertical position of the first cell clicked
+     * @param col horizontal position of the first cell clicked
+     * @param rng random generator to draw from
+     * @throws IllegalArgumentException if the mines do not fit outside the first cell's neighborhood
+     */
+    public void placeMines(int row, int col, RandomGenerator rng) {
+        // spaces within one space of the first cell clicked, in ascending order
+        int[] excluded = new int[9];
+        int numExcluded = 0;
+
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, height - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, width - 1); j++)
+                excluded[numExcluded++] = i * width + j;
+        }
+
+        placeMines(excluded, numExcluded, rng);
+    }
+
+    /**
+     * Place mines anywhere on the grid, each layout being equally likely, before the first cell is
+     * known. Moving the mines out of the first cell's neighborhood with clearZone() afterwards gives
+     * the same chances as placing them around it.
+     *
+     * @param rng random generator to draw from
+     * @throws IllegalArgumentException if there are more mines than spaces
+     */
+    public void placeMines(RandomGenerator rng) {
+        placeMines(new int[0], 0, rng);
+    }
+
+    /**
+     * Place mines on every space but the excluded ones, each layout being equally likely.
+     *
+     * @param excluded ascending flat indices of excluded spaces
+     * @param numExcluded number of valid entries in excluded
+     * @param rng random generator to draw from
+     * @throws IllegalArgumentException if the mines do not fit outside the excluded spaces
+     */
+    private void placeMines(int[] excluded, int numExcluded, RandomGenerator rng) {
+        seeded = false;
+        stats = null;
+
+        int eligible = cells.length - numExcluded;
+        if (numMines > eligible)
+            throw new IllegalArgumentException("Cannot place " + numMines + " mines in " + eligible + " spaces");
+
+        // choose whichever of the mines or the remaining safe spaces is smaller
+        boolean complement = numMines > eligible / 2;
+        int numChosen = complement ? eligible - numMines : numMines;
+
+        for (int j = eligible - numChosen; j < eligible; j++) {
+            int index = toIndex(rng.nextInt(j + 1), excluded, numExcluded);
+
+            if (isMine(index))  // already chosen, so take the newest rank instead
+                index = toIndex(j, excluded, numExcluded);
+
+            setMine(index);
+        }
+
+        // swap chosen safe spaces for mines everywhere outside the excluded neighborhood
+        if (complement) {
+            for (int index = 0, k = 0; index < cells.length; index++) {
+                if (k < numExcluded && excluded[k] == index) {
+                    k++;
+                    continue;
+                }
+
+                if (isMine(index)) {
+                    cells[index] = (byte)VOID;
+                    mines[index >>> 6] &= ~(1L << index);
+                } else
+                    setMine(index);
             }
         }
     }
 
     /**
-     * Calculate and set number of mines adjacent to each space.
+     * Move any mines within one space of the first cell clicked to random spaces outside that
+     * neighborhood, updating only the numbers around each moved mine. Numbers must already be
+     * generated. Each new place is drawn as a rank among the free spaces, so the cost is bounded
+     * however dense the board is.
+     *
+     * @param row vertical position of the first cell clicked
+     * @param col horizontal position of the first cell clicked
+     * @param rng random generator to draw new places from
+     * @throws IllegalArgumentException if the mines do not fit outside the first cell's neighborhood
+     */
+    public void clearZone(int row, int col, RandomGenerator rng) {
+        // spaces within one space of the first cell clicked
+        int[] zone = new int[9];
+        int numZone = 0;
+
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, height - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, width - 1); j++)
+                zone[numZone++] = i * width + j;
+        }
+
+        if (numMines > cells.length - numZone)
+            throw new IllegalArgumentException("Cannot place " + numMines + " mines in " + (cells.length - numZone) + " spaces");
+
+        int moved = 0;
+        for (int k = 0; k < numZone; k++) {
+            if (isMine(zone[k])) {
+                moveMine(zone[k], -1);
+                moved++;
+            }
+        }
+
+        if (moved == 0)
+            return;
+
+        // block the neighborhood while drawing, so every unset bit is a free space outside it
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, height - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, width - 1); j++)
+                mines[(i * width + j) >>> 6] |= 1L << (i * width + j);
+        }
+
+        int free = cells.length - numZone - (numMines - moved);
+        int[] chosen = new int[moved];
+        for (int k = 0; k < moved; k++) {
+            chosen[k] = freeSpace(rng.nextInt(free--));
+            mines[chosen[k] >>> 6] |= 1L << chosen[k];  // taken, so the next draw skips it
+        }
+
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, height - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, width - 1); j++)
+                mines[(i * width + j) >>> 6] &= ~(1L << (i * width + j));
+        }
+
+        for (int k = 0; k < moved; k++)
+            moveMine(chosen[k], 1);
+
+        seeded = false;
+        stats = null;
+    }
+
+    /**
+     * Find a space without a mine by its rank among those spaces, counting a word of the mine bitset
+     * at a time.
+     *
+     * @param rank rank of the space, less than the number of spaces without a mine
+     * @return flat position of the space
+     */
+    private int freeSpace(int rank) {
+        for (int w = 0; ; w++) {
+            long free = ~mines[w];
+            int n = Long.bitCount(free);
+
+            if (rank < n) {
+                for (; rank > 0; rank--)
+                    free &= free - 1;   // drop the lowest free space
+                return (w << 6) + Long.numberOfTrailingZeros(free);
+            }
+
+            rank -= n;
+        }
+    }
+
+    /**
+     * Add or remove a single mine and correct the numbers around it.
+     *
+     * @param index flat position of space
+     * @param change 1 to add a mine, -1 to remove one
+     */
+    private void moveMine(int index, int change) {
+        int r = index / width;
+        int c = index - r * width;
+        int count = 0;  // mines around the space
+
+        if (change > 0)
+            setMine(index);
+        else
+            mines[index >>> 6] &= ~(1L << index);
+
+        for (int i = Math.max(r - 1, 0); i <= Math.min(r + 1, height - 1); i++) {
+            for (int j = Math.max(c - 1, 0); j <= Math.min(c + 1, width - 1); j++) {
+                int adj = i * width + j;
+
+                if (adj == index)
+                    continue;
+
+                if (isMine(adj))
+                    count++;
+                else
+                    cells[adj] += change;
+            }
+        }
+
+        if (change < 0)
+            cells[index] = (byte)count;
+    }
+
+    /**
+     * Exchange the mines and numbers of this game with those of another game of the same size, so a
+     * board generated elsewhere is handed over in constant time. States of spaces are left alone.
+     *
+     * @param other game holding the board to take, which receives this game's board
+     * @throws IllegalArgumentException if the games differ in size or number of mines
+     */
+    public void swapLayout(Game other) {
+        if (other.height != height || other.width != width || other.numMines != numMines)
+            throw new IllegalArgumentException("Cannot swap boards of different sizes");
+
+        byte[] tempCells = cells;
+        cells = other.cells;
+        other.cells = tempCells;
+
+        long[] tempMines = mines;
+        mines = other.mines;
+        other.mines = tempMines;
+
+        long tempSeed = seed;
+        seed = other.seed;
+        other.seed = tempSeed;
+
+        boolean tempSeeded = seeded;
+        seeded = other.seeded;
+        other.seeded = tempSeeded;
+
+        int tempSeedIndex = seedIndex;
+        seedIndex = other.seedIndex;
+        other.seedIndex = tempSeedIndex;
+
+        GameStats tempStats = stats;
+        stats = other.stats;
+        other.stats = tempStats;
+    }
+
+    /**
+     * Convert a rank among the eligible spaces to the flat index of that space.
+     *
+     * @param rank position among eligible spaces
+     * @param excluded ascending flat indices of excluded spaces
+     * @param numExcluded number of valid entries in excluded
+     * @return flat position of space
+     */
+    private static int toIndex(int rank, int[] excluded, int numExcluded) {
+        int index = rank;
+
+        // skip past each excluded space at or below the index
+        for (int k = 0; k < numExcluded && excluded[k] <= index; k++)
+            index++;
+
+        return index;
+    }
+
+    /**
+     * Calculate and set number of mines adjacent to each space, choosing the fastest way for the board.
      */
     public void generateNumbers() {
-        int adjMineCount = 0;   // number of mines adjacent to space
+        if (cells.length >= PARALLEL_THRESHOLD)
+            generateNumbers(PARALLEL_NUMBERS);
+        else if (numMines * 8 < cells.length)   // sparse boards only need to visit the mines
+            generateNumbers(MINE_NUMBERS);
+        else
+            generateNumbers(SCAN_NUMBERS);
+    }
 
-        // calculate number of adjacent mines
+    /**
+     * Calculate and set number of mines adjacent to each space.
+     *
+     * @param mode SCAN_NUMBERS, MINE_NUMBERS, or PARALLEL_NUMBERS
+     */
+    public void generateNumbers(int mode) {
+        stats = null;
+
+        switch (mode) {
+            case MINE_NUMBERS:
+                countStrip(0, height);
+                break;
+            case PARALLEL_NUMBERS:
+                ForkJoinPool.commonPool().invoke(new StripTask(0, height));
+                break;
+            default:
+                scanNumbers();
+        }
+    }
+
+    /**
+     * Calculate number of mines adjacent to each space by checking the neighbors of every space.
+     */
+    private void scanNumbers() {
+        int index = 0;  // flat position of current space
+
+        // calculate number of adjacent mines, scanning the grid in memory order
         for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
+            boolean up = i > 0;
+            boolean down = i < height - 1;
+
+            for (int j = 0; j < width; j++, index++) {
+                if (cells[index] == MINE)
+                    continue;
+
+                boolean left = j > 0;
+                boolean right = j < width - 1;
+                int adjMineCount = 0;   // number of mines adjacent to space
+
                 // check each adjacent space
-                if (grid[i][j] != MINE) {
-                    if (i > 0 && j > 0 && grid[i - 1][j - 1] == MINE)
-                        adjMineCount++;
-                    if (i > 0 && grid[i - 1][j] == MINE)
+                if (up) {
+                    int above = index - width;
+                    if (left && cells[above - 1] == MINE)
                         adjMineCount++;
-                    if (i > 0 && j < width - 1 && grid[i - 1][j + 1] == MINE)
+                    if (cells[above] == MINE)
                         adjMineCount++;
-                    if (j > 0 && grid[i][j - 1] == MINE)
+                    if (right && cells[above + 1] == MINE)
                         adjMineCount++;
-                    if (j < width - 1 && grid[i][j + 1] == MINE)
-                        adjMineCount++;
-                    if (i < height - 1 && j > 0 && grid[i + 1][j - 1] == MINE)
+                }
+                if (left && cells[index - 1] == MINE)
+                    adjMineCount++;
+                if (right && cells[index + 1] == MINE)
+                    adjMineCount++;
+                if (down) {
+                    int below = index + width;
+                    if (left && cells[below - 1] == MINE)
                         adjMineCount++;
-                    if (i < height - 1 && grid[i + 1][j] == MINE)
+                    if (cells[below] == MINE)
                         adjMineCount++;
-                    if (i < height - 1 && j < width - 1 && grid[i + 1][j + 1] == MINE)
+                    if (right && cells[below + 1] == MINE)
                         adjMineCount++;
+                }
+
+                cells[index] = (byte)adjMineCount;  // set value of space
+            }
+        }
+    }
+
+    /**
+     * Calculate numbers for a strip of rows by adding one to the neighbors of each mine. Mines in the
+     * row just outside each edge of the strip are included, but only spaces inside it are written,
+     * so strips can be filled at the same time.
+     *
+     * @param firstRow first row of the strip
+     * @param endRow row just past the end of the strip
+     */
+    private void countStrip(int firstRow, int endRow) {
+        int start = firstRow * width;
+        int end = endRow * width;
 
-                    grid[i][j] = adjMineCount;  // set value of space
-                    adjMineCount = 0;   // reset for next space
+        // reset spaces in the strip and restore its mines
+        Arrays.fill(cells, start, end, (byte)0);
+        for (int m = nextMine(start); m >= 0 && m < end; m = nextMine(m + 1))
+            cells[m] = (byte)MINE;
+
+        // add one to the neighbors of each mine in the strip and its halo rows
+        int haloEnd = Math.min(endRow + 1, height) * width;
+
+        for (int m = nextMine(Math.max(firstRow - 1, 0) * width); m >= 0 && m < haloEnd; m = nextMine(m + 1)) {
+            int r = m / width;
+            int c = m - r * width;
+
+            for (int i = Math.max(r - 1, firstRow); i <= Math.min(r + 1, endRow - 1); i++) {
+                for (int j = Math.max(c - 1, 0); j <= Math.min(c + 1, width - 1); j++) {
+                    int adj = i * width + j;
+
+                    if (cells[adj] != MINE)
+                        cells[adj]++;
                 }
             }
         }
     }
 
+    /**
+     * Find the next mine at or after a position.
+     *
+     * @param from flat position to start searching from
+     * @return flat position of next mine, or -1 if there are none
+     */
+    private int nextMine(int from) {
+        int w = from >>> 6;
+        if (w >= mines.length)
+            return -1;
+
+        long word = mines[w] & (-1L << from);   // ignore bits before the starting position
+
+        while (word == 0) {
+            if (++w == mines.length)
+                return -1;
+
+            word = mines[w];
+        }
+
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Splits the rows of the board into strips small enough to fill on a single core.
+     */
+    private class StripTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private int firstRow;
+        private int endRow;
+
+        StripTask(int firstRow, int endRow) {
+            this.firstRow = firstRow;
+            this.endRow = endRow;
+        }
+
+        @Override
+        protected void compute() {
+            if ((endRow - firstRow) * width <= STRIP_SIZE || endRow - firstRow < 2) {
+                countStrip(firstRow, endRow);
+                return;
+            }
+
+            int mid = (firstRow + endRow) >>> 1;
+            invokeAll(new StripTask(firstRow, mid), new StripTask(mid, endRow));
+        }
+    }
+
     /**
      * Get value of a specified space on the grid.
      *
@@ -111,7 +544,30 @@ public class Game {
         if (row < 0 || row >= height || col <  0 || col >= width)
             return VOID;
 
-        return grid[row][col];
+        return cells[row * width + col];
+    }
+
+    /**
+     * Get the statistics of the board, calculating them the first time they are asked for after the
+     * mines or numbers change. Numbers must already be generated.
+     *
+     * @return statistics of the current board
+     */
+    public GameStats getStats() {
+        if (stats == null)
+            stats = new GameStats(this);
+
+        return stats;
+    }
+
+    /**
+     * Get value of a space by its flat index, row * width + col.
+     *
+     * @param index flat position of space
+     * @return value of space
+     */
+    public int getValue(int index) {
+        return cells[index];
     }
 
     /**
@@ -122,8 +578,173 @@ public class Game {
      * @param value value of space
      */
     public void setValue(int row, int col, int value) {
-        if (value >= VOID && value <= 8)    // check for valid value
-            grid[row][col] = value;     // set value of space
+        if (value < VOID || value > 8)  // check for valid value
+            return;
+
+        int index = row * width + col;
+        stats = null;
+
+        if (value == MINE)
+            setMine(index);
+        else {
+            cells[index] = (byte)value;     // set value of space
+            mines[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Check whether a space holds a mine.
+     *
+     * @param index flat position of space
+     * @return true if the space is a mine
+     */
+    public boolean isMine(int index) {
+        return (mines[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Mark a space as a mine in both the value array and the mine bitset.
+     *
+     * @param index flat position of space
+     */
+    private void setMine(int index) {
+        cells[index] = (byte)MINE;
+        mines[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Convert a location on the grid to its flat index.
+     *
+     * @param row vertical location of space
+     * @param col horizontal location of space
+     * @return flat position of space
+     */
+    public int getIndex(int row, int col) {
+        return row * width + col;
+    }
+
+    /**
+     * Find the spaces around a space, stopping at the edges of the grid.
+     *
+     * @param index flat position of space
+     * @param neighbors receives the flat position of each neighbor, with room for eight
+     * @return number of neighbors
+     */
+    public int getNeighbors(int index, int[] neighbors) {
+        int r = index / width;
+        int c = index - r * width;
+        int n = 0;
+
+        for (int i = Math.max(r - 1, 0); i <= Math.min(r + 1, height - 1); i++) {
+            for (int j = Math.max(c - 1, 0); j <= Math.min(c + 1, width - 1); j++) {
+                int adj = i * width + j;
+                if (adj != index)
+                    neighbors[n++] = adj;
+            }
+        }
+
+        return n;
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < height && col >= 0 && col < width;
+    }
+
+    public int findIndex(int row, int col) {
+        return getIndex(row, col);  // every space exists from the start
+    }
+
+    public int getRow(int index) {
+        return index / width;
+    }
+
+    public int getCol(int index) {
+        return index % width;
+    }
+
+    // state mutator methods, addressed by flat index
+
+    public void setCleared(int index, boolean state) {
+        // update count of remaining safe spaces when a non-mine space changes state
+        if (setBit(cleared, index, state) && !isMine(index))
+            numSafeRemaining += state ? -1 : 1;
+    }
+
+    public void setFlagged(int index, boolean state) {
+        if (setBit(flagged, index, state))
+            numFlags += state ? 1 : -1;
+    }
+
+    public void setMarked(int index, boolean state) {
+        setBit(marked, index, state);
+    }
+
+    // state accessor methods, addressed by flat index
+
+    public boolean isCleared(int index) {
+        return (cleared[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public boolean isFlagged(int index) {
+        return (flagged[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public boolean isMarked(int index) {
+        return (marked[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Copy the state of every space into bitsets holding one bit per flat index, as long as the
+     * game's own, so a snapshot of play can be kept alongside the grid.
+     *
+     * @param cleared receives the spaces that have been opened
+     * @param flagged receives the spaces that have been flagged
+     * @param marked receives the spaces that have been flagged or question marked
+     */
+    public void copyStates(long[] cleared, long[] flagged, long[] marked) {
+        System.arraycopy(this.cleared, 0, cleared, 0, this.cleared.length);
+        System.arraycopy(this.flagged, 0, flagged, 0, this.flagged.length);
+        System.arraycopy(this.marked, 0, marked, 0, this.marked.length);
+    }
+
+    /**
+     * Restore the state of every space from bitsets written by copyStates(), keeping the mines and
+     * numbers, and recount the running counters.
+     *
+     * @param cleared spaces that have been opened
+     * @param flagged spaces that have been flagged
+     * @param marked spaces that have been flagged or question marked
+     */
+    public void setStates(long[] cleared, long[] flagged, long[] marked) {
+        int safeCleared = 0;
+        numFlags = 0;
+
+        for (int w = 0; w < mines.length; w++) {
+            this.cleared[w] = cleared[w];
+            this.flagged[w] = flagged[w];
+            this.marked[w] = marked[w];
+
+            safeCleared += Long.bitCount(cleared[w] & ~mines[w]);
+            numFlags += Long.bitCount(flagged[w]);
+        }
+
+        numSafeRemaining = cells.length - numMines - safeCleared;
+    }
+
+    /**
+     * Set or clear a single bit of a state bitset.
+     *
+     * @param bits bitset being changed
+     * @param index flat position of space
+     * @param state new value of the bit
+     * @return true if the bit changed
+     */
+    private static boolean setBit(long[] bits, int index, boolean state) {
+        long word = bits[index >>> 6];
+        long updated = state ? word | (1L << index) : word & ~(1L << index);
+
+        bits[index >>> 6] = updated;
+        return updated != word;
     }
 
     // accessor methods
@@ -139,4 +760,36 @@ public class Game {
     public int getNumMines() {
         return numMines;
     }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public int getSeedIndex() {
+        return seedIndex;
+    }
+
+    public int getNumSpaces() {
+        return cells.length;
+    }
+
+    public int getNumStateWords() {
+        return mines.length;
+    }
+
+    public int getNumSafeRemaining() {
+        return numSafeRemaining;
+    }
+
+    public int getNumFlags() {
+        return numFlags;
+    }
+
+    public int getMinesRemaining() {
+        return numMines - numFlags;
+    }
 }
\ No newline at end of file
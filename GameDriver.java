@@ -3,13 +3,15 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 /**
  * Creates the user interface and handles interactions with the user.
  *
  * @author Jake Koontz
- * Last update: 8/5/17
+ * Last update: 10/18/26
  */
 
 public class GameDriver {
@@ -17,33 +19,43 @@ public class GameDriver {
     public static final int BEGINNER = 1;
     public static final int INTERMEDIATE = 2;
     public static final int EXPERT = 3;
+    public static final int ENDLESS = 4;
 
     // constants to hold size properties
-    private static final int CELL_SIZE = 24;    // side length of cell
     private static final int MAX_HEIGHT = 37;
     private static final int MAX_WIDTH = 80;
     private static final int MIN_HEIGHT = 3;
     private static final int MIN_WIDTH = 8;
     private static final int MIN_NUM_MINES = 1;
 
+    // constants to hold endless properties
+    private static final double ENDLESS_DENSITY = 0.2;
+    private static final int ENDLESS_ROWS = 24;     // size of window onto the board
+    private static final int ENDLESS_COLS = 40;
+
     // GUI components
     private JFrame frame;
-    private JPanel board;
+    private BoardView board;
     private JButton gameButton;
     private JLabel minesLabel;
     private JLabel timeLabel;
     private JMenuItem statsItem;
 
-    // images for buttons
-    private Image imgSmileFace, imgWinnerFace, imgDeadFace, imgClickedFace;
-    private Image imgUnopened, imgFlag, imgQMark, imgMine, imgClickedMine, imgWrongMine;
-    private Image imgZero, imgOne, imgTwo, imgThree, imgFour, imgFive, imgSix, imgSeven, imgEight;
+    // images for buttons, shared by every game
+    private SpriteCache sprites;
 
     // game properties
-    private Game game;
+    private Game game;  // bounded game being played, or null
+    private EndlessGame endless;    // endless game being played, or null
+    private GameEngine engine;  // plays the game, independent of the user interface
+    private BoardPool boardPool;    // generates boards in the background for the first click
+    private Runnable waiting;   // opens the first click once its board is generated, or null
     private Scores scores;
+    private ReplayRecorder recorder;    // records every game, or null if the archive could not be opened
+    private ClickProfiler profiler;     // measures the time taken by each click
     private int difficulty;
     private boolean qMarks;
+    private boolean noGuess;    // boards can be cleared without guessing
     private int height;
     private int width;
     private int numMines;
@@ -52,33 +64,62 @@ public class GameDriver {
     private Timer timer;
     private long startTime;
 
-    // miscellaneous fields
-    private Cell[][] spaces;    // all cells on the board
-    private int mineCount;  // tracks number of mines remaining
-    private boolean firstSpace = true;  // signifies first space to be clicked
-    private boolean gameOver;   // signifies game being over
-
     /**
      * Set properties of the game.
      *
      * @param game the current game being played
      * @param scores the lists of high scores
+     * @param recorder archive each game is recorded to, or null to record nothing
+     * @param profiler measures the time taken by each click
      * @param difficulty the difficulty level
      * @param qMarks boolean representing whether or not question marks are allowed
+     * @param noGuess boolean representing whether or not boards must be clearable without guessing
      */
-    public GameDriver(Game game, Scores scores, int difficulty, boolean qMarks) {
+    public GameDriver(Game game, Scores scores, ReplayRecorder recorder, ClickProfiler profiler, int difficulty,
+            boolean qMarks, boolean noGuess) {
         // set properties of game
         this.game = game;
         this.scores = scores;
+        this.recorder = recorder;
+        this.profiler = profiler;
+        engine = new GameEngine(game, qMarks);
+        engine.setNoGuess(noGuess);
         this.difficulty = difficulty;
         this.qMarks = qMarks;
+        this.noGuess = noGuess;
 
         height = game.getHeight();
         width = game.getWidth();
         numMines = game.getNumMines();
 
-        mineCount = numMines;   // sets number of mines remaining
-        spaces = new Cell[height][width];   // array of spaces on board
+        boardPool = new BoardPool(height, width, numMines, noGuess);    // starts generating boards at once
+        engine.setBoardPool(boardPool);
+
+        init();     // set up frame
+        setBoard();     // set up board
+    }
+
+    /**
+     * Set properties of an endless game, which is never scored or recorded.
+     *
+     * @param endless the current game being played
+     * @param scores the lists of high scores, kept for later games
+     * @param recorder archive later games are recorded to, or null to record nothing
+     * @param profiler measures the time taken by each click
+     * @param qMarks boolean representing whether or not question marks are allowed
+     * @param noGuess boolean representing whether or not later boards must be clearable without guessing
+     */
+    public GameDriver(EndlessGame endless, Scores scores, ReplayRecorder recorder, ClickProfiler profiler,
+            boolean qMarks, boolean noGuess) {
+        // set properties of game
+        this.endless = endless;
+        this.scores = scores;
+        this.recorder = recorder;
+        this.profiler = profiler;
+        engine = new GameEngine(endless, qMarks);
+        difficulty = ENDLESS;
+        this.qMarks = qMarks;
+        this.noGuess = noGuess;
 
         init();     // set up frame
         setBoard();     // set up board
@@ -95,55 +136,7 @@ public class GameDriver {
         frame.setLayout(new BorderLayout());
         frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
 
-        // load files for new game button
-        ImageIcon smileFace = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\Smile.jpg");
-        ImageIcon winnerFace = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\Winner.jpg");
-        ImageIcon deadFace = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\Dead.jpg");
-        ImageIcon clickedFace = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\Gasp.jpg");
-
-        // create images for new game button
-        imgSmileFace = smileFace.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
-        imgWinnerFace = winnerFace.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
-        imgDeadFace = deadFace.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
-        imgClickedFace = clickedFace.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
-
-        // load files for special game pieces
-        ImageIcon unopened = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\Unopened.png");
-        ImageIcon flag = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\Flag.png");
-        ImageIcon qMark = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\Question Mark.png");
-        ImageIcon mine = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\Bomb.jpg");
-        ImageIcon clickedMine = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\ClickedBomb.jpg");
-        ImageIcon wrongMine = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\WrongBomb.png");
-
-        // create images for special game pieces
-        imgUnopened = unopened.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgFlag = flag.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgQMark = qMark.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgMine = mine.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgClickedMine = clickedMine.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgWrongMine = wrongMine.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-
-        // load files for numbered game pieces
-        ImageIcon zero = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\0.png");
-        ImageIcon one = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\1.png");
-        ImageIcon two = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\2.png");
-        ImageIcon three = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\3.png");
-        ImageIcon four = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\4.png");
-        ImageIcon five = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\5.png");
-        ImageIcon six = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\6.png");
-        ImageIcon seven = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\7.png");
-        ImageIcon eight = new ImageIcon("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\8.png");
-
-        // create images for numbered game pieces
-        imgZero = zero.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgOne = one.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgTwo = two.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgThree = three.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgFour = four.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgFive = five.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgSix = six.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgSeven = seven.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
-        imgEight = eight.getImage().getScaledInstance(CELL_SIZE, CELL_SIZE, Image.SCALE_SMOOTH);
+        sprites = SpriteCache.get();    // load images once for every game
 
         createMenu();   // create menu and add to frame
         createGameBar();    // create gameBar and add to frame
@@ -167,6 +160,9 @@ public class GameDriver {
         JMenuItem scoresItem = new JMenuItem("High Scores");    // item to hold high scores
         gameMenu.add(scoresItem);
 
+        JMenuItem latencyItem = new JMenuItem("Latency");   // item to hold click timings
+        gameMenu.add(latencyItem);
+
         menuBar.add(gameMenu);  // add menu to menu bar
 
         // display options when optionsItem is clicked
@@ -175,11 +171,11 @@ public class GameDriver {
             public void actionPerformed(ActionEvent e) {
                 JPanel optionsPanel = new JPanel(new GridLayout(1, 2));     // panel to hold sub-panels
 
-                JPanel diffPanel = new JPanel(new GridLayout(6, 1));    // panel to hold difficulty levels
+                JPanel diffPanel = new JPanel(new GridLayout(7, 1));    // panel to hold difficulty levels
                 diffPanel.setBackground(Color.LIGHT_GRAY);
                 optionsPanel.add(diffPanel);
 
-                JPanel detailsPanel = new JPanel(new GridLayout(6, 3));     // panel to hold details of difficulties
+                JPanel detailsPanel = new JPanel(new GridLayout(7, 3));     // panel to hold details of difficulties
                 optionsPanel.add(detailsPanel);
 
                 // array to allow repetition
@@ -202,7 +198,7 @@ public class GameDriver {
 
                 // arrays to allow repetition
                 JTextField[] tfs = new JTextField[3];
-                JRadioButton[] rbs = new JRadioButton[4];
+                JRadioButton[] rbs = new JRadioButton[5];
 
                 // add text and text fields
                 for (int i = 0; i < tfs.length; i++) {
@@ -229,8 +225,17 @@ public class GameDriver {
                     cBox.setSelected(true);
                 detailsPanel.add(cBox);     // add checkbox to panel
 
+                // create and format checkbox to handle boards without guessing
+                JCheckBox ngBox = new JCheckBox(" No Guess");
+                ngBox.setFont(new Font("Default", Font.PLAIN, 16));
+                ngBox.setBackground(Color.LIGHT_GRAY);
+                ngBox.setFocusPainted(false);   // removes border around selected button
+                if (noGuess)    // check if boards without guessing are enabled
+                    ngBox.setSelected(true);
+                detailsPanel.add(ngBox);    // add checkbox to panel
+
                 // add blank labels to fill in space
-                for (int i = 0; i < 3; i++) {
+                for (int i = 0; i < 5; i++) {
                     JLabel blank = new JLabel();
                     blank.setOpaque(true);  // allows background color to change
                     blank.setBackground(Color.LIGHT_GRAY);
@@ -243,7 +248,7 @@ public class GameDriver {
                 }
 
                 ButtonGroup bg = new ButtonGroup();     // ensures only one radio button can be selected
-                String[] rbsTitles = {"Beginner", "Intermediate", "Expert", "Custom"};   // array to allow repetition
+                String[] rbsTitles = {"Beginner", "Intermediate", "Expert", "Custom", "Endless"};     // array to allow repetition
 
                 // add radio buttons
                 for (int i = 0; i < rbsTitles.length; i++) {
@@ -271,6 +276,9 @@ public class GameDriver {
                     case EXPERT:
                         rbs[2].setSelected(true);
                         break;
+                    case ENDLESS:
+                        rbs[4].setSelected(true);
+                        break;
                     default:
                         rbs[3].setSelected(true);
 
@@ -361,6 +369,8 @@ public class GameDriver {
                                     return;
                                 }
                             }
+                        } else if (rbs[4].isSelected()) {
+                            tempDifficulty = ENDLESS;
                         } else
                             return;
 
@@ -368,10 +378,19 @@ public class GameDriver {
                         if (cBox.isSelected())
                             tempQMarks = true;
 
+                        boolean tempNoGuess = ngBox.isSelected();   // holds noGuess so that it can be changed and set at the end
+
+                        finishReplay();     // keep the game being left in the archive
+                        close();    // stop generating boards for the old size
                         frame.dispose();    // remove old board
 
-                        Game g = new Game(tempHeight, tempWidth, tempNumMines);     // creates model of game mechanics
-                        new GameDriver(g, scores, tempDifficulty, tempQMarks);  // creates gameDriver to run game
+                        if (tempDifficulty == ENDLESS) {
+                            EndlessGame eg = new EndlessGame(new SplittableRandom().nextLong(), ENDLESS_DENSITY);
+                            new GameDriver(eg, scores, recorder, profiler, tempQMarks, tempNoGuess);
+                        } else {
+                            Game g = new Game(tempHeight, tempWidth, tempNumMines);     // creates model of game mechanics
+                            new GameDriver(g, scores, recorder, profiler, tempDifficulty, tempQMarks, tempNoGuess);    // creates gameDriver to run game
+                        }
                     }
                 });
 
@@ -389,7 +408,7 @@ public class GameDriver {
         statsItem.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                GameStats gameStats = new GameStats(game);  // create instance of gameStats for current game
+                GameStats gameStats = game.getStats();  // statistics of current board, calculated once
 
                 JPanel statsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
                 JTextArea statsTextArea = new JTextArea();
@@ -397,6 +416,7 @@ public class GameDriver {
                 // array to allow repetition
                 String[] labels = {"Height:  " + game.getHeight(), "Width:  " + game.getWidth(),
                         "Mines:  " + game.getNumMines(), gameStats.getNumSpaces(), gameStats.getMineDensity(),
+                        gameStats.getBoardValue(), gameStats.getOpenings(), gameStats.getIslands(),
                         gameStats.getFrequencies()};
 
                 // add each stat
@@ -427,17 +447,23 @@ public class GameDriver {
                 JPanel scoresPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
                 JTextArea scoresTextArea = new JTextArea();
 
-                int[] levels = {BEGINNER, INTERMEDIATE, EXPERT};    // array to allow repetition
+                int[][] levels = {{9, 9, 10}, {16, 16, 40}, {16, 30, 99}};  // array to allow repetition
 
-                // add scores from each difficulty
+                // add scores from each difficulty, with the current question mark setting
                 for (int i = 0; i < levels.length; i++) {
-                    scoresTextArea.append(scores.getScores(levels[i]));
+                    scoresTextArea.append(scores.getScores(levels[i][0], levels[i][1], levels[i][2], qMarks));
 
                     // add newline for every difficulty but the last
                     if (i != levels.length - 1)
                         scoresTextArea.append("\n");
                 }
 
+                // add scores of the current board if it is custom
+                if (difficulty != BEGINNER && difficulty != INTERMEDIATE && difficulty != EXPERT && difficulty != ENDLESS) {
+                    scoresTextArea.append("\n\n");
+                    scoresTextArea.append(scores.getScores(height, width, numMines, qMarks));
+                }
+
                 // format scoresTextArea
                 scoresTextArea.setFont(new Font("Default", Font.PLAIN, 16));
                 scoresTextArea.setBackground(null);     // sets background to light gray
@@ -450,6 +476,25 @@ public class GameDriver {
             }
         });
 
+        // display click timings when latencyItem is clicked
+        latencyItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                JPanel latencyPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+                JTextArea latencyTextArea = new JTextArea(profiler.summary());
+
+                // format latencyTextArea, in a fixed width font so the columns line up
+                latencyTextArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 14));
+                latencyTextArea.setBackground(null);    // sets background to light gray
+                latencyTextArea.setEditable(false);
+                latencyPanel.add(latencyTextArea);
+
+                // create and show dialog with no button
+                JOptionPane.showOptionDialog(frame, latencyPanel, "Latency", JOptionPane.DEFAULT_OPTION,
+                        JOptionPane.PLAIN_MESSAGE, null, new Object[]{}, null);
+            }
+        });
+
         frame.add(menuBar, BorderLayout.NORTH);     // add menuBar to frame
     }
 
@@ -464,7 +509,7 @@ public class GameDriver {
         GridBagConstraints constraints = new GridBagConstraints();    // controls placement of items in gameBar
 
         // set up label to display number of mines remaining
-        minesLabel = new JLabel("" + mineCount);
+        minesLabel = new JLabel(getCounter());
         minesLabel.setHorizontalAlignment(JLabel.CENTER);
         minesLabel.setFont(new Font("Stencil", Font.PLAIN, 24));
         minesLabel.setPreferredSize(new Dimension(60, minesLabel.getPreferredSize().height));   // prevents label from moving other components
@@ -477,7 +522,7 @@ public class GameDriver {
         gameButton = new JButton();
         gameButton.setPreferredSize(new Dimension(40, 40));
         gameButton.setBorder(new LineBorder(Color.GRAY));   // removes rounded edges
-        gameButton.setIcon(new ImageIcon(imgSmileFace));
+        gameButton.setIcon(sprites.getFace(SpriteCache.SMILE_FACE));
         gameButton.addActionListener(new ActionListener() {     // starts a new game when clicked
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -503,7 +548,7 @@ public class GameDriver {
         timer = new Timer(100, new ActionListener() {   // updates every tenth of a second
             @Override
             public void actionPerformed(ActionEvent e) {
-                minesLabel.setText("" + mineCount);
+                minesLabel.setText(getCounter());
                 timeLabel.setText("" + (System.nanoTime() - startTime) / 1000000000);
             }
         });
@@ -515,269 +560,190 @@ public class GameDriver {
      * Set up the board that holds each space.
      */
     private void setBoard() {
-        board = new JPanel(new GridLayout(height, width));
-
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                Cell c = new Cell(i, j);
-                spaces[i][j] = c;   // adds cell to list of all spaces
-
-                // set properties of cell
-                c.setPreferredSize(new Dimension(CELL_SIZE, CELL_SIZE));
-                c.setIcon(new ImageIcon(imgUnopened));
-                c.setBorderPainted(false);  // disables glow around selected cell
-
-                // add listener to handle interaction with user
-                c.addMouseListener(new MouseAdapter() {
-                    boolean pressed;    // tracks whether cell is pressed
-
-                    @Override
-                    public void mousePressed(MouseEvent e) {
-                        c.getModel().setArmed(true);
-                        c.getModel().setPressed(true);
-                        pressed = true;
-
-                        // update face on gameButton
-                        if (!SwingUtilities.isRightMouseButton(e) && !gameOver)
-                            gameButton.setIcon(new ImageIcon(imgClickedFace));
-                    }
-
-                    @Override
-                    public void mouseReleased(MouseEvent e) {
-                        c.getModel().setArmed(false);
-                        c.getModel().setPressed(false);
-
-                        // update face on gameButton
-                        if (!gameOver)
-                            gameButton.setIcon(new ImageIcon(imgSmileFace));
-
-                        // handle clicked cell
-                        if (pressed && !c.isCleared()) {    // check that space has not been cleared
-                            if (SwingUtilities.isRightMouseButton(e)) {     // check for right click
-                                if (c.isFlagged()) {    // check for flag
-                                    // set correct image
-                                    if (qMarks)     // check if question marks are allowed
-                                        c.setIcon(new ImageIcon(imgQMark));
-                                    else {
-                                        c.setIcon(new ImageIcon(imgUnopened));
-                                        c.setMarked(false);
-                                    }
-
-                                    c.setFlagged(false);
-                                    mineCount++;    // increment count of remaining mines
-                                } else if (qMarks && c.isMarked()) {  // check for question mark
-                                    c.setIcon(new ImageIcon(imgUnopened));
-                                    c.setMarked(false);
-                                } else {
-                                    c.setIcon(new ImageIcon(imgFlag));
-                                    c.setFlagged(true);
-                                    c.setMarked(true);
-
-                                    mineCount--;    // decrement count of remaining mines
-                                }
-                            } else {    // left click
-                                if (!c.isMarked()) {      // check for no mark
-                                    for (int i = 0; i < height; i++) {
-                                        for (int j = 0; j < width; j++) {
-                                            if (spaces[i][j] == c) {    // check for correct cell
-                                                if (firstSpace) {   // check for first click of game
-                                                    game.placeMines(i, j);  // place mines on board
-                                                    game.generateNumbers();     // generate number for each space
-
-                                                    startTime = System.nanoTime();  // get time at start of game
-                                                    timer.restart();    // start timer
-                                                    firstSpace = false;
-                                                    statsItem.setEnabled(true);     // allows user to view stats
-                                                }
-
-                                                c.setCleared(true);     // clear space to prevent future click
-                                                showSpace(c, game.getValue(i, j));  // display space on screen
-                                                break;
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
-
-                        pressed = false;
-                    }
+        // add listener to handle interaction with user
+        BoardView.CellListener listener = new BoardView.CellListener() {
+            @Override
+            public void cellPressed(int row, int col, boolean rightButton) {
+                // update face on gameButton
+                if (!rightButton && !engine.isGameOver())
+                    gameButton.setIcon(sprites.getFace(SpriteCache.CLICKED_FACE));
+
+                // start a board for this cell while the button is held, if boards depend on the first click
+                if (!rightButton && !engine.isStarted() && boardPool != null && waiting == null)
+                    boardPool.press(row, col);
+            }
 
-                    @Override
-                    public void mouseExited(MouseEvent e) {
-                        pressed = false;
-                    }
+            @Override
+            public void cellReleased(int row, int col, boolean rightButton) {
+                // update face on gameButton
+                if (!engine.isGameOver())
+                    gameButton.setIcon(sprites.getFace(SpriteCache.SMILE_FACE));
 
-                    @Override
-                    public void mouseEntered(MouseEvent e) {
-                        pressed = true;
-                    }
-                });
+                handleClick(row, col, rightButton);
+            }
 
-                board.add(c);   // add cell to board
+            @Override
+            public void pressCancelled() {
+                if (!engine.isGameOver())
+                    gameButton.setIcon(sprites.getFace(SpriteCache.SMILE_FACE));
             }
+        };
 
-            frame.add(board, BorderLayout.SOUTH);   // add board to frame
-            frame.pack();   // pack all components together
-            frame.setVisible(true);     // displays frame on screen
-        }
+        // show a bounded game whole, or a window onto an endless one
+        if (endless != null)
+            board = new BoardView(endless, ENDLESS_ROWS, ENDLESS_COLS, listener);
+        else
+            board = new BoardView(game, listener);
+
+        frame.add(board, BorderLayout.SOUTH);   // add board to frame
+        frame.pack();   // pack all components together
+        frame.setVisible(true);     // displays frame on screen
     }
 
     /**
-     * Accessor method for Cell.
+     * Handle a click on a cell of the board.
      *
      * @param row vertical position of cell
      * @param col horizontal position of cell
-     * @return cell at specified position
+     * @param rightButton true if the right mouse button was clicked
      */
-    private Cell getCell(int row, int col) {
-        return spaces[row][col];
+    private void handleClick(int row, int col, boolean rightButton) {
+        if (engine.isGameOver() || waiting != null)
+            return;     // board is finished until a new game starts, or the first click is not opened yet
+
+        if (!rightButton && !engine.isStarted() && waitForBoard(row, col))
+            return;     // opened once its board is generated
+
+        long time = System.nanoTime();  // time of the click, for the replay
+        int index = isRecording() ? game.getIndex(row, col) : -1;
+        MoveResult result;
+        int action;
+        long generation = 0;    // time spent getting the board, if this click starts the game
+        long fill = 0;  // time spent opening spaces
+
+        profiler.begin();
+
+        if (rightButton) {  // check for right click
+            action = ClickProfiler.MARK;
+            result = engine.mark(row, col);
+
+            // record only marks that changed the space, by what they left on it
+            if (isRecording() && result.getCount() > 0) {
+                if (game.isFlagged(index))
+                    recorder.record(game, ReplayRecorder.FLAG, index, time);
+                else if (game.isMarked(index))
+                    recorder.record(game, ReplayRecorder.QUESTION, index, time);
+                else
+                    recorder.record(game, ReplayRecorder.UNMARK, index, time);
+            }
+        } else if (engine.isCleared(row, col)) {    // left click on an opened number
+            action = ClickProfiler.CHORD;
+            long start = System.nanoTime();
+            result = engine.chord(row, col);
+            fill = System.nanoTime() - start;
+
+            if (isRecording() && result.getCount() > 0)
+                recorder.record(game, ReplayRecorder.CHORD, index, time);
+        } else {
+            boolean firstSpace = !engine.isStarted();   // check for first click of game
+
+            // open space, plus any empty region around it
+            action = ClickProfiler.REVEAL;
+            long start = System.nanoTime();
+            result = engine.reveal(row, col);
+            fill = System.nanoTime() - start;
+
+            if (firstSpace && engine.isStarted()) {
+                generation = engine.getGenerationTime();
+                fill -= generation;     // count only the opening
+                startTime = System.nanoTime();  // get time at start of game
+                timer.restart();    // start timer
+                statsItem.setEnabled(game != null);     // allows user to view stats of a bounded board
+            }
+
+            if (isRecording() && result.getCount() > 0)
+                recorder.record(game, ReplayRecorder.REVEAL, index, time);
+        }
+
+        board.repaintCells(result.getChanged(), result.getCount());
+        profiler.clicked(action, row, col, result.getCount(), generation, engine.isPooled(), fill);  // times the repaint just requested
+        showResult(result);
     }
 
     /**
-     * Find and display empty spaces adjacent to the clicked cell.
+     * Open the first click later if its board, which needs no guessing, is still being generated,
+     * rather than open it on an ordinary board that may need a guess. Other clicks are ignored and
+     * the wait cursor is shown until then.
      *
-     * @param row vertical position of cell
-     * @param col horizontal position of cell
+     * @param row vertical position of first click
+     * @param col horizontal position of first click
+     * @return true if the click will be opened later
      */
-    private void showEmptySpaces(int row, int col) {
-        if (row >= 0 && row < height && col >= 0 && col < width) {  // check bounds
-            Cell c = getCell(row, col);     // finds cell at specified location
+    private boolean waitForBoard(int row, int col) {
+        if (boardPool == null || engine.isMarked(row, col))
+            return false;
 
-            // prevent infinite search
-            if (c.isChecked()) {    // check to see if previously checked
-                if (c.isMarked())   // check for mark
-                    c.setMarkedAndEmpty(true);  // sets cell as marked and empty
+        Runnable reveal = new Runnable() {
+            @Override
+            public void run() {
+                if (waiting != this)
+                    return;     // a new game was started while waiting
 
-                return;
+                waiting = null;
+                board.setCursor(null);
+                handleClick(row, col, false);
             }
+        };
 
-            // handle space
-            if (!c.isMarked()) {    // check for mark
-                c.setCleared(true);
-
-                int value = game.getValue(row, col);    // get value of space
-
-                if (value == 0)
-                    c.setIcon(new ImageIcon(imgZero));
-                else if (value != Game.MINE) {   // check that value is a nonzero number
-                    showSpace(c, value);    // show number
-                    return;
-                }
+        // the pool calls back on its own thread, so open the click on the EDT
+        boolean later = boardPool.whenReady(row, col, new Runnable() {
+            @Override
+            public void run() {
+                SwingUtilities.invokeLater(reveal);
             }
+        });
 
-            c.setChecked(true);
-
-            // check each adjacent cell
-            showEmptySpaces(row - 1, col - 1);
-            showEmptySpaces(row - 1, col);
-            showEmptySpaces(row - 1, col + 1);
-            showEmptySpaces(row, col - 1);
-            showEmptySpaces(row, col + 1);
-            showEmptySpaces(row + 1, col - 1);
-            showEmptySpaces(row + 1, col);
-            showEmptySpaces(row + 1, col + 1);
-        }
-    }
-
-    /**
-     * Show value of the selected cell on the board.
-     *
-     * @param c selected cell
-     * @param value value of space corresponding to the cell
-     */
-    private void showSpace(Cell c, int value) {
-        // set image of cell based on value of space
-        switch (value) {
-            case Game.MINE:
-                c.setIcon(new ImageIcon(imgClickedMine));
-                gameOver(c, false);     // indicates game ending in loss
-                break;
-            case 0:
-                if (c.isMarkedAndEmpty())   // checks for marked empty cell
-                    c.setIcon(new ImageIcon(imgZero));
-                else
-                    showEmptySpaces(c.getRow(), c.getCol());    // find and show empty adjacent spaces
-
-                break;
-            case 1:
-                c.setIcon(new ImageIcon(imgOne));
-                break;
-            case 2:
-                c.setIcon(new ImageIcon(imgTwo));
-                break;
-            case 3:
-                c.setIcon(new ImageIcon(imgThree));
-                break;
-            case 4:
-                c.setIcon(new ImageIcon(imgFour));
-                break;
-            case 5:
-                c.setIcon(new ImageIcon(imgFive));
-                break;
-            case 6:
-                c.setIcon(new ImageIcon(imgSix));
-                break;
-            case 7:
-                c.setIcon(new ImageIcon(imgSeven));
-                break;
-            case 8:
-                c.setIcon(new ImageIcon(imgEight));
-                break;
+        if (later) {
+            waiting = reveal;
+            board.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
         }
-
-        if (getNumActiveSpaces() == 0 && value != Game.MINE)     // checks if no active spaces are remaining
-            gameOver(c, true);  // indicates game ending in win
+        return later;
     }
 
     /**
-     * Determine number of non-mine spaces remaining.
+     * Handle the end of the game after an action, once the spaces it changed are being repainted.
      *
-     * @return number of active non-mine spaces
+     * @param result outcome of the action
      */
-    private int getNumActiveSpaces() {
-        int numActiveSpaces = height * width - numMines;
-
-        // check each cell
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                if (getCell(i, j).isCleared())  // checks if cell is cleared
-                    numActiveSpaces--;
-            }
-        }
-
-        return numActiveSpaces;
+    private void showResult(MoveResult result) {
+        if (result.getStatus() == GameEngine.LOST)
+            gameOver(result.getMineIndex(), false);     // indicates game ending in loss
+        else if (result.getStatus() == GameEngine.WON)
+            gameOver(result.getChanged()[result.getCount() - 1], true);     // indicates game ending in win
     }
 
     /**
      * Handle behavior at end of game.
      *
-     * @param c last-clicked cell
+     * @param index flat position of last-opened space
      * @param winner boolean to signify winning or losing
      */
-    private void gameOver(Cell c, boolean winner) {
-        gameOver = true;    // signifies end of game
-
+    private void gameOver(int index, boolean winner) {
         double endTime = System.nanoTime() - startTime;    // gets time at end of game
         timer.stop();   // stop timer
-
-        // clear each cell
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                getCell(i, j).setCleared(true);
-            }
-        }
+        finishReplay();     // hand the finished game to the archive
 
         // complete board and gameBar
         if (winner) {   // signifies winning game
-            gameButton.setIcon(new ImageIcon(imgWinnerFace));
+            gameButton.setIcon(sprites.getFace(SpriteCache.WINNER_FACE));
             minesLabel.setText("0");    // clear minesLabel
 
             double score = endTime / 1000000000.0;  // converts time to seconds
             double roundedScore = Math.round(score * 100);
             roundedScore /= 100.0;  // rounds time to two decimal places
 
-            boolean highScore = scores.submitScore(roundedScore, difficulty);   // submit score
+            boolean highScore = scores.submitScore(roundedScore, height, width, numMines, qMarks);  // submit score
+            Leaderboard leaderboard = scores.getLeaderboard(height, width, numMines, qMarks);
 
             // add message with winning time
             JPanel msgPanel = new JPanel(new GridLayout(0, 1));     // allows varying number of components to be added
@@ -786,6 +752,12 @@ public class GameDriver {
             timeMsg.setHorizontalAlignment(SwingConstants.CENTER);
             msgPanel.add(timeMsg);
 
+            // add message with place among every win on this board
+            JLabel rankMsg = new JLabel("Rank: " + leaderboard.rank(roundedScore) + " of " + leaderboard.size());
+            rankMsg.setFont(new Font("Default", Font.PLAIN, 16));
+            rankMsg.setHorizontalAlignment(SwingConstants.CENTER);
+            msgPanel.add(rankMsg);
+
             // add message if time made the high scores list
             if (highScore) {
                 JLabel highScoreMsg = new JLabel("You made the high scores list!");
@@ -798,52 +770,74 @@ public class GameDriver {
             JOptionPane.showOptionDialog(frame, msgPanel, "You Won!", JOptionPane.DEFAULT_OPTION,
                     JOptionPane.PLAIN_MESSAGE, null, new Object[]{}, null);
         } else {    // signifies losing game
-            gameButton.setIcon(new ImageIcon(imgDeadFace));
+            gameButton.setIcon(sprites.getFace(SpriteCache.DEAD_FACE));
+            board.showMines(index);     // display mines and wrongly-placed flags
+        }
+    }
 
-            // display mines
-            for (int i = 0; i < height; i++) {
-                for (int j = 0; j < width; j++) {
-                    Cell cc = getCell(i, j);    // get current cell
+    /**
+     * Hand the current game to the archive, which writes it off the EDT.
+     */
+    private void finishReplay() {
+        if (isRecording())
+            recorder.finish(game, qMarks, engine.getStatus());
+    }
 
-                    // display every mine except for one that was clicked
-                    if (game.getValue(i, j) == Game.MINE && !cc.isFlagged() && (i != c.getRow() || j != c.getCol()))
-                        cc.setIcon(new ImageIcon(imgMine));
+    /**
+     * Check whether games are being recorded, which endless games never are.
+     *
+     * @return true if the current game is recorded
+     */
+    private boolean isRecording() {
+        return recorder != null && game != null;
+    }
 
-                    // display mines in cells with wrongly-placed flags
-                    if (cc.isFlagged() && game.getValue(i, j) != Game.MINE)
-                        cc.setIcon(new ImageIcon(imgWrongMine));
-                }
-            }
-        }
+    /**
+     * Stop any background work of the current game before its frame is removed.
+     */
+    private void close() {
+        if (boardPool != null)
+            boardPool.close();
+        if (endless != null)
+            endless.close();    // writes changed chunks to the store and closes it
+    }
+
+    /**
+     * Get the text of minesLabel: mines remaining, or safe spaces opened in an endless game.
+     *
+     * @return text of minesLabel
+     */
+    private String getCounter() {
+        return "" + (endless != null ? endless.getNumCleared() : engine.getMinesRemaining());
     }
 
     /**
      * Reset current game and begin a new one.
      */
     private void newGame() {
-        gameOver = false;   // signifies starting of game
-        firstSpace = true;  // indicates first click of game
         statsItem.setEnabled(false);    // prevents user from viewing stats before mines are generated
 
-        gameButton.setIcon(new ImageIcon(imgSmileFace));
+        gameButton.setIcon(sprites.getFace(SpriteCache.SMILE_FACE));
         timer.stop();
         timeLabel.setText("0");     // reset timeLabel
 
-        // reset components of board
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                getCell(i, j).reset();  // reset cell
-                game.setValue(i, j, Game.VOID);     // completely empties space
-            }
+        if (!engine.isGameOver())
+            finishReplay();     // keep an abandoned game in the archive
+        else if (isRecording())
+            recorder.discard();     // nothing after the end belongs to the next game
+
+        if (waiting != null) {
+            waiting = null;     // drop a first click still waiting for its board
+            board.setCursor(null);
         }
 
-        mineCount = numMines;   // reset count of remaining mines
-        minesLabel.setText("" + mineCount);     // set minesLabel
+        engine.newGame();   // completely empties every space and resets its state
+        if (boardPool != null)
+            boardPool.refill();     // generate boards for later games off the EDT
+
+        minesLabel.setText(getCounter());   // set minesLabel
 
-        frame.remove(board);    // remove old board from frame
-        setBoard();     // set up new board
-        frame.revalidate();     // reload frame
-        frame.repaint();    // reload graphics on frame
+        board.reset();  // return board to unplayed state and repaint it
     }
 
     /**
@@ -858,7 +852,16 @@ public class GameDriver {
 
         Game g = new Game(height, width, numMines);     // creates model of game mechanics
         Scores s = new Scores();    // initializes high scores
+        ReplayRecorder r = null;    // records every game
+
+        try {
+            r = new ReplayRecorder();
+        } catch (IOException e) {
+            e.printStackTrace();    // play on without recording
+        }
+
+        ClickProfiler p = new ClickProfiler();  // measures the time taken by each click
 
-        new GameDriver(g, s, EXPERT, false);  // creates gameDriver to run game, false signifies no question marks
+        new GameDriver(g, s, r, p, EXPERT, false, false);  // creates gameDriver to run game, false signifies no question marks or no-guess boards
     }
 }
\ No newline at end of file
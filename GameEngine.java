@@ -0,0 +1,361 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays a game without any user interface, so games can be driven by bots, benchmarks, or a server.
+ * Creates no AWT or Swing objects. Plays either a bounded Game or an EndlessGame, which is never won.
+ *
+ * Last update: 10/18/26
+ */
+
+public class GameEngine {
+    // constants used to represent status of the game
+    public static final int PLAYING = 0;
+    public static final int WON = 1;
+    public static final int LOST = 2;
+
+    private Grid grid;  // board being played
+    private Game game;  // bounded game being played, or null for an endless one
+    private EndlessGame endless;    // endless game being played, or null for a bounded one
+    private RevealEngine revealEngine;  // opens spaces and the empty regions around them
+    private boolean qMarks;     // question marks are allowed
+    private RandomGenerator seeds;  // source of a seed for each game, or null for unseeded games
+    private NoGuessGenerator noGuess;   // finds boards that need no guessing, or null for ordinary boards
+    private BoardPool boardPool;    // boards generated ahead of time, or null to generate at the first reveal
+
+    private MoveResult result;  // reused for the outcome of each action
+    private int[] single;   // reused batch for actions that change one space
+
+    private int status;     // status of the game
+    private boolean started;    // mines have been placed by the first reveal
+    private int explodedIndex;  // mine that ended the game, or -1
+    private long generationTime;    // nanoseconds the first reveal spent getting the board, or 0
+    private boolean pooled;     // the board was taken from the pool
+
+    /**
+     * Initialize the engine around a game.
+     *
+     * @param game game being played
+     * @param qMarks boolean representing whether or not question marks are allowed
+     */
+    public GameEngine(Game game, boolean qMarks) {
+        this(game, qMarks, null);
+    }
+
+    /**
+     * Initialize the engine around a game, drawing the seed of each game from a generator so a
+     * sequence of games can be reproduced.
+     *
+     * @param game game being played
+     * @param qMarks boolean representing whether or not question marks are allowed
+     * @param seed seed for the sequence of games
+     */
+    public GameEngine(Game game, boolean qMarks, long seed) {
+        this(game, qMarks, new SplittableRandom(seed));
+    }
+
+    /**
+     * Initialize the engine around a game.
+     *
+     * @param game game being played
+     * @param qMarks boolean representing whether or not question marks are allowed
+     * @param seeds source of a seed for each game, or null for unseeded games
+     */
+    public GameEngine(Game game, boolean qMarks, RandomGenerator seeds) {
+        this.game = game;
+        this.qMarks = qMarks;
+        this.seeds = seeds;
+        grid = game;
+
+        revealEngine = new RevealEngine(game);
+        result = new MoveResult();
+        single = new int[1];
+
+        newGame();
+    }
+
+    /**
+     * Initialize the engine around an endless game.
+     *
+     * @param endless game being played
+     * @param qMarks boolean representing whether or not question marks are allowed
+     */
+    public GameEngine(EndlessGame endless, boolean qMarks) {
+        this.endless = endless;
+        this.qMarks = qMarks;
+        grid = endless;
+
+        revealEngine = new RevealEngine(endless, EndlessGame.CHUNK_SIZE * EndlessGame.CHUNK_SIZE);
+        result = new MoveResult();
+        single = new int[1];
+
+        newGame();
+    }
+
+    /**
+     * Reset the game so the next reveal places new mines.
+     */
+    public void newGame() {
+        grid.clear();   // completely empties every space and resets its state
+
+        status = PLAYING;
+        started = false;
+        explodedIndex = -1;
+        generationTime = 0;
+        pooled = false;
+    }
+
+    /**
+     * Open a space, placing the mines around it first if it is the first reveal of the game.
+     *
+     * @param row vertical position of space
+     * @param col horizontal position of space
+     * @return outcome of the action
+     */
+    public MoveResult reveal(int row, int col) {
+        if (status != PLAYING || !inBounds(row, col))
+            return unchanged();
+
+        trim();
+
+        if (!started) {     // check for first click of game
+            if (grid.isMarked(grid.getIndex(row, col)))
+                return unchanged();
+
+            // take a board generated ahead of time, or place mines on board
+            long start = System.nanoTime();
+            if (endless != null) {
+                endless.start(row, col);    // chunks are generated as play reaches them
+            } else {
+                pooled = boardPool != null && boardPool.take(game, row, col);
+                if (!pooled) {
+                    placeMines(row, col);
+                    game.generateNumbers();     // generate number for each space
+                }
+            }
+
+            generationTime = System.nanoTime() - start;
+            started = true;
+        }
+
+        revealEngine.reveal(row, col);
+        return opened();
+    }
+
+    /**
+     * Choose whether later games are generated so they can be cleared without guessing. Boards too
+     * dense for that fall back to ordinary placement.
+     *
+     * @param noGuess true to generate boards that need no guessing
+     */
+    public void setNoGuess(boolean noGuess) {
+        if (!noGuess || game == null)
+            this.noGuess = null;
+        else if (seeds != null)     // keep a seeded sequence of games reproducible in its seeds
+            this.noGuess = new NoGuessGenerator(game.getHeight(), game.getWidth(), game.getNumMines(), seeds.nextLong());
+        else
+            this.noGuess = new NoGuessGenerator(game.getHeight(), game.getWidth(), game.getNumMines());
+    }
+
+    /**
+     * Take the board of each game from a pool where one is ready, so the first reveal does no
+     * generation. Boards from the pool are not drawn from the seeds of this engine.
+     *
+     * @param boardPool pool for this game's size, or null to generate every board at the first reveal
+     */
+    public void setBoardPool(BoardPool boardPool) {
+        this.boardPool = boardPool;
+    }
+
+    /**
+     * Place the mines of a new game around the first click.
+     *
+     * @param row vertical position of first click
+     * @param col horizontal position of first click
+     */
+    private void placeMines(int row, int col) {
+        if (noGuess != null) {
+            try {
+                game.placeMines(row, col, noGuess.generate(row, col));
+                return;
+            } catch (IllegalStateException e) {
+                // board is too dense for one without guessing, so place an ordinary one
+            }
+        }
+
+        if (seeds != null)
+            game.placeMines(row, col, seeds.nextLong());
+        else
+            game.placeMines(row, col);
+    }
+
+    /**
+     * Open every space around an opened number once enough flags surround it.
+     *
+     * @param row vertical position of opened number
+     * @param col horizontal position of opened number
+     * @return outcome of the action
+     */
+    public MoveResult chord(int row, int col) {
+        if (status != PLAYING || !started || !inBounds(row, col))
+            return unchanged();
+
+        trim();
+        revealEngine.chord(row, col);
+        return opened();
+    }
+
+    /**
+     * Cycle the mark on an unopened space: none, flag, then question mark if allowed.
+     *
+     * @param row vertical position of space
+     * @param col horizontal position of space
+     * @return outcome of the action
+     */
+    public MoveResult mark(int row, int col) {
+        if (status != PLAYING || !inBounds(row, col))
+            return unchanged();
+
+        trim();
+        int index = grid.getIndex(row, col);
+
+        if (grid.isCleared(index))  // check that space has not been cleared
+            return unchanged();
+
+        if (grid.isFlagged(index)) {    // check for flag
+            // leave a question mark if allowed, otherwise remove the mark
+            if (!qMarks)
+                grid.setMarked(index, false);
+
+            grid.setFlagged(index, false);  // also increments count of remaining mines
+        } else if (qMarks && grid.isMarked(index)) {    // check for question mark
+            grid.setMarked(index, false);
+        } else {
+            grid.setFlagged(index, true);   // also decrements count of remaining mines
+            grid.setMarked(index, true);
+        }
+
+        single[0] = index;
+        result.set(status, single, 1, -1);
+        return result;
+    }
+
+    /**
+     * Update status after spaces were opened and describe the batch.
+     *
+     * @return outcome of the action
+     */
+    private MoveResult opened() {
+        int count = revealEngine.getCount();
+        int mineIndex = revealEngine.getMineIndex();
+
+        if (mineIndex >= 0) {
+            status = LOST;
+            explodedIndex = mineIndex;
+        } else if (game != null && count > 0 && game.getNumSafeRemaining() == 0) {  // checks if no active spaces are remaining
+            status = WON;
+        }
+
+        result.set(status, revealEngine.getRevealed(), count, mineIndex);
+        return result;
+    }
+
+    /**
+     * Describe an action that changed nothing.
+     *
+     * @return outcome of the action
+     */
+    private MoveResult unchanged() {
+        result.set(status, single, 0, -1);
+        return result;
+    }
+
+    /**
+     * Check that a location is on the grid.
+     *
+     * @param row vertical location of space
+     * @param col horizontal location of space
+     * @return true if the location is on the grid
+     */
+    private boolean inBounds(int row, int col) {
+        return grid.contains(row, col);
+    }
+
+    /**
+     * Let an endless game evict chunks before an action, while no indices are in use.
+     */
+    private void trim() {
+        if (endless != null)
+            endless.trim();
+    }
+
+    // query methods
+
+    public Game getGame() {
+        return game;
+    }
+
+    public Grid getGrid() {
+        return grid;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    public boolean isGameOver() {
+        return status != PLAYING;
+    }
+
+    public boolean isQMarks() {
+        return qMarks;
+    }
+
+    public boolean isNoGuess() {
+        return noGuess != null;
+    }
+
+    public long getGenerationTime() {
+        return generationTime;
+    }
+
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    public int getExplodedIndex() {
+        return explodedIndex;
+    }
+
+    public int getMinesRemaining() {
+        return game != null ? game.getMinesRemaining() : (int)-endless.getNumFlags();
+    }
+
+    public boolean isCleared(int row, int col) {
+        return grid.isCleared(grid.getIndex(row, col));
+    }
+
+    public boolean isFlagged(int row, int col) {
+        return grid.isFlagged(grid.getIndex(row, col));
+    }
+
+    public boolean isMarked(int row, int col) {
+        return grid.isMarked(grid.getIndex(row, col));
+    }
+
+    /**
+     * Get the value of a space only if it has been opened, so players cannot see hidden values.
+     *
+     * @param row vertical location of space
+     * @param col horizontal location of space
+     * @return value of an opened space, or Game.VOID if it is unopened
+     */
+    public int getVisibleValue(int row, int col) {
+        int index = grid.getIndex(row, col);
+        return grid.isCleared(index) ? grid.getValue(index) : Game.VOID;
+    }
+}
\ No newline at end of file
@@ -1,38 +1,218 @@
 /**
- * Calculates various statistics for a game.
+ * Calculates various statistics for a game: number frequencies, mine density, and the 3BV, openings,
+ * and islands that measure how much work the board takes. Everything is found in one union-find
+ * pass over the grid when the statistics are created, so the getters only read stored values.
+ * Game.getStats() keeps one for each board, so it is calculated once however often it is shown.
+ * No reference to the game is kept, so the statistics travel with a board swapped between games.
+ * The click of the 3BV that opens each space is kept too, so replays can follow progress through it.
  *
  * @author Jake Koontz
- * Last update: 8/5/17
+ * Last update: 10/18/26
  */
 
 public class GameStats {
-    private Game game;  // game statistics are being calculated for
+    // kinds of space, as sorted by the pass
+    private static final byte MINE_SPACE = 0;
+    private static final byte EMPTY_SPACE = 1;  // part of an opening
+    private static final byte BORDER_SPACE = 2;     // number opened along with an opening
+    private static final byte ISOLATED_SPACE = 3;   // number no opening borders, needing its own click
+
     private int numSpaces;  // total spaces on the board
+    private int numMines;
     private int[] counts;   // array containing counts of each possible number
 
+    private int bv;     // 3BV, the fewest clicks that clear the board
+    private int[] openingSizes;     // spaces opened by each opening, in order of their first space
+    private int largestOpening;
+    private int numIsolated;    // numbers no opening borders
+    private int numIslands;     // connected groups of those numbers
+    private int[] clicks;   // click of the 3BV opening each space, counting from 1, or 0 if none does
+
     /**
-     * Initializes fields and calculates counts.
+     * Initializes fields and calculates every statistic.
      *
      * @param game game for which statistics are being calculated
      */
     public GameStats(Game game) {
-        this.game = game;
-        numSpaces = game.getHeight() * game.getWidth();
+        numSpaces = game.getNumSpaces();
+        numMines = game.getNumMines();
 
         counts = new int[9];
-        calcCounts();   // calculate counts of each number
+        calcStats(game);    // calculate counts of each number, openings, and islands
     }
 
     /**
-     * Calculate total count of each number.
+     * Sort each space and join it to the spaces of its kind above and to its left, in a single pass
+     * in memory order, then total each group from its root.
+     *
+     * @param game game for which statistics are being calculated
      */
-    private void calcCounts() {
-        for (int i = 0; i < game.getHeight(); i++) {
-            for (int j = 0; j < game.getWidth(); j++) {
-                int value = game.getValue(i, j);
+    private void calcStats(Game game) {
+        int height = game.getHeight();
+        int width = game.getWidth();
+        byte[] kinds = new byte[numSpaces];
+        int[] parent = new int[numSpaces];  // union-find forest over empty spaces and isolated numbers
+        int index = 0;
+
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++, index++) {
+                int value = game.getValue(index);
+
+                if (value < 0) {
+                    kinds[index] = MINE_SPACE;
+                    continue;
+                }
+
+                counts[value]++;    // increment count of correct number
+                parent[index] = index;
+
+                if (value == 0)
+                    kinds[index] = EMPTY_SPACE;
+                else
+                    kinds[index] = bordersEmpty(game, r, c) ? BORDER_SPACE : ISOLATED_SPACE;
 
-                if (value >= 0) {
-                    counts[value]++;    // increment count of correct number
+                // join neighbors already passed that are of the same kind; the space above touches
+                // the others, and the space to the left touches the one above it, so those are
+                // already in one group when they match
+                byte kind = kinds[index];
+                if (kind != BORDER_SPACE) {
+                    if (r > 0 && kinds[index - width] == kind) {
+                        join(parent, index, index - width);
+                    } else {
+                        if (c > 0 && kinds[index - 1] == kind)
+                            join(parent, index, index - 1);
+                        else if (r > 0 && c > 0 && kinds[index - width - 1] == kind)
+                            join(parent, index, index - width - 1);
+
+                        if (r > 0 && c < width - 1 && kinds[index - width + 1] == kind)
+                            join(parent, index, index - width + 1);
+                    }
+                }
+            }
+        }
+
+        // point every space straight at its root: each root is the first space of its group and
+        // every parent comes before its child, so one pass in memory order is enough
+        for (int i = 0; i < numSpaces; i++)
+            parent[i] = parent[parent[i]];
+
+        // total the spaces of each opening, count each group of isolated numbers, and number the
+        // clicks in order of the first space each opens
+        int[] sizes = new int[numSpaces];   // spaces opened, stored at each opening's root
+        int[] roots = new int[8];   // openings touched by one bordering number
+        int numOpenings = 0;
+        clicks = new int[numSpaces];
+
+        for (int i = 0; i < numSpaces; i++) {
+            if (kinds[i] == EMPTY_SPACE) {
+                if (parent[i] == i) {
+                    numOpenings++;
+                    clicks[i] = ++bv;
+                } else
+                    clicks[i] = clicks[parent[i]];  // root came first
+
+                sizes[parent[i]]++;
+            } else if (kinds[i] == ISOLATED_SPACE) {
+                numIsolated++;
+                clicks[i] = ++bv;
+                if (parent[i] == i)
+                    numIslands++;
+            } else if (kinds[i] == BORDER_SPACE)
+                addBorder(parent, kinds, sizes, roots, i, width, height);
+        }
+
+        openingSizes = new int[numOpenings];
+        for (int i = 0, k = 0; i < numSpaces; i++) {
+            if (kinds[i] == EMPTY_SPACE && parent[i] == i) {
+                openingSizes[k++] = sizes[i];
+                largestOpening = Math.max(largestOpening, sizes[i]);
+            }
+        }
+    }
+
+    /**
+     * Check whether a numbered space touches an empty space.
+     *
+     * @param game game being measured
+     * @param r row of space
+     * @param c column of space
+     * @return true if any neighbor is empty
+     */
+    private static boolean bordersEmpty(Game game, int r, int c) {
+        for (int i = Math.max(r - 1, 0); i <= Math.min(r + 1, game.getHeight() - 1); i++) {
+            for (int j = Math.max(c - 1, 0); j <= Math.min(c + 1, game.getWidth() - 1); j++) {
+                if (game.getValue(i * game.getWidth() + j) == 0)
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Join two spaces of the same kind into one group, keeping the earlier root.
+     *
+     * @param parent union-find forest
+     * @param a space being passed
+     * @param b neighbor already passed
+     */
+    private static void join(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+
+        if (rootA < rootB)
+            parent[rootB] = rootA;
+        else if (rootB < rootA)
+            parent[rootA] = rootB;
+    }
+
+    /**
+     * Find the root of a space's group, halving the path on the way.
+     *
+     * @param parent union-find forest
+     * @param i space
+     * @return root of the group
+     */
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+
+        return i;
+    }
+
+    /**
+     * Add a bordering number to the size of each opening it touches, once per opening.
+     *
+     * @param parent union-find forest, already flattened
+     * @param kinds kind of each space
+     * @param sizes spaces opened, stored at each opening's root
+     * @param roots scratch for the roots already counted
+     * @param index bordering number
+     * @param width number of columns
+     * @param height number of rows
+     */
+    private static void addBorder(int[] parent, byte[] kinds, int[] sizes, int[] roots, int index, int width,
+            int height) {
+        int r = index / width;
+        int c = index - r * width;
+        int numRoots = 0;
+
+        for (int i = Math.max(r - 1, 0); i <= Math.min(r + 1, height - 1); i++) {
+            for (int j = Math.max(c - 1, 0); j <= Math.min(c + 1, width - 1); j++) {
+                int adj = i * width + j;
+                if (kinds[adj] != EMPTY_SPACE)
+                    continue;
+
+                int root = parent[adj];     // the forest is flat by now
+                boolean seen = false;
+                for (int k = 0; k < numRoots && !seen; k++)
+                    seen = roots[k] == root;
+
+                if (!seen) {
+                    roots[numRoots++] = root;
+                    sizes[root]++;
                 }
             }
         }
@@ -53,7 +233,7 @@ public class GameStats {
      * @return String of the percentage of spaces that are mines
      */
     public String getMineDensity() {
-        return String.format("Mine Density:  %.2f%%", ((double)game.getNumMines() / numSpaces) * 100);
+        return String.format("Mine Density:  %.2f%%", getDensity() * 100);
     }
 
     /**
@@ -75,4 +255,81 @@ public class GameStats {
 
         return sb.toString();
     }
+
+    /**
+     * Return the 3BV of the board.
+     *
+     * @return String of the fewest clicks that clear the board
+     */
+    public String getBoardValue() {
+        return String.format("3BV:  %d", bv);
+    }
+
+    /**
+     * Return the number of openings and the size of the largest.
+     *
+     * @return String of the openings
+     */
+    public String getOpenings() {
+        return String.format("Openings:  %d (largest %d spaces)", openingSizes.length, largestOpening);
+    }
+
+    /**
+     * Return the number of islands of numbers that no opening reaches.
+     *
+     * @return String of the islands
+     */
+    public String getIslands() {
+        return String.format("Islands:  %d (%d spaces)", numIslands, numIsolated);
+    }
+
+    // accessor methods
+
+    public int getSpaceCount() {
+        return numSpaces;
+    }
+
+    public double getDensity() {
+        return (double)numMines / numSpaces;
+    }
+
+    public int getFrequency(int number) {
+        return counts[number];
+    }
+
+    public int get3BV() {
+        return bv;
+    }
+
+    public int getOpeningCount() {
+        return openingSizes.length;
+    }
+
+    public int[] getOpeningSizes() {
+        return openingSizes.clone();
+    }
+
+    public int getLargestOpening() {
+        return largestOpening;
+    }
+
+    public int getIslandCount() {
+        return numIslands;
+    }
+
+    public int getIsolatedCount() {
+        return numIsolated;
+    }
+
+    /**
+     * Get the click of the 3BV that opens a space: each opening and each isolated number is one
+     * click, counting from 1 in order of its first space. Mines and numbers bordering an opening
+     * need no click of their own.
+     *
+     * @param index flat position of space
+     * @return click opening the space, 1 through get3BV(), or 0 if none does
+     */
+    public int getClick(int index) {
+        return clicks[index];
+    }
 }
\ No newline at end of file
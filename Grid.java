@@ -0,0 +1,71 @@
+/**
+ * Spaces of a board as the engines that play it see them. Each space is named by an int index that
+ * the grid chooses, so a bounded Game and an EndlessGame are opened, marked, and painted by the same
+ * code. Neighbors are found through the grid rather than by arithmetic on the index.
+ *
+ * Last update: 10/18/26
+ */
+
+public interface Grid {
+    /**
+     * Empty every space and reset the state of each space.
+     */
+    void clear();
+
+    /**
+     * Check whether a location is part of the grid.
+     *
+     * @param row vertical location of space
+     * @param col horizontal location of space
+     * @return true if the location holds a space
+     */
+    boolean contains(int row, int col);
+
+    /**
+     * Get the index of a space, bringing it into memory if needed.
+     *
+     * @param row vertical location of space
+     * @param col horizontal location of space
+     * @return index of space
+     */
+    int getIndex(int row, int col);
+
+    /**
+     * Get the index of a space only if anything is known about it, so showing the grid never
+     * creates spaces that have not been played.
+     *
+     * @param row vertical location of space
+     * @param col horizontal location of space
+     * @return index of space, or -1 if it has never been reached
+     */
+    int findIndex(int row, int col);
+
+    int getRow(int index);
+
+    int getCol(int index);
+
+    /**
+     * Find the spaces around a space.
+     *
+     * @param index index of space
+     * @param neighbors receives the index of each neighbor, with room for eight
+     * @return number of neighbors
+     */
+    int getNeighbors(int index, int[] neighbors);
+
+    boolean isMine(int index);
+
+    int getValue(int index);
+
+    boolean isCleared(int index);
+
+    boolean isFlagged(int index);
+
+    boolean isMarked(int index);
+
+    void setCleared(int index, boolean state);
+
+    void setFlagged(int index, boolean state);
+
+    void setMarked(int index, boolean state);
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+import java.util.Arrays;
+
+/**
+ * Counts how often each whole-number value occurs, growing to the largest value seen. Counts are
+ * exact, so histograms filled on different threads merge in any order to the same result, and the
+ * mean, spread, skew, and percentiles are read from the counts when asked for.
+ *
+ * Last update: 10/18/26
+ */
+
+public class Histogram {
+    private long[] counts;  // occurrences of each value
+    private long total;     // values added
+    private long sum;   // sum of values added
+
+    /**
+     * Initialize an empty histogram.
+     */
+    public Histogram() {
+        counts = new long[16];
+    }
+
+    /**
+     * Count one occurrence of a value.
+     *
+     * @param value value to count, at least 0
+     */
+    public void add(int value) {
+        if (value >= counts.length)
+            counts = Arrays.copyOf(counts, Math.max(counts.length * 2, value + 1));
+
+        counts[value]++;
+        total++;
+        sum += value;
+    }
+
+    /**
+     * Add every count of another histogram to this one.
+     *
+     * @param other histogram to merge in, left unchanged
+     * @return this histogram
+     */
+    public Histogram add(Histogram other) {
+        if (other.counts.length > counts.length)
+            counts = Arrays.copyOf(counts, other.counts.length);
+
+        for (int v = 0; v < other.counts.length; v++)
+            counts[v] += other.counts[v];
+
+        total += other.total;
+        sum += other.sum;
+        return this;
+    }
+
+    /**
+     * Calculate a central moment from the counts.
+     *
+     * @param k order of the moment
+     * @return mean of (value - mean)^k
+     */
+    private double centralMoment(int k) {
+        double mean = getMean();
+        double m = 0;
+
+        for (int v = 0; v < counts.length; v++) {
+            if (counts[v] != 0)
+                m += counts[v] * Math.pow(v - mean, k);
+        }
+
+        return m / total;
+    }
+
+    /**
+     * Find the smallest value that at least a fraction of the values do not exceed.
+     *
+     * @param fraction fraction from 0 to 1
+     * @return value at that percentile, or 0 if the histogram is empty
+     */
+    public int percentile(double fraction) {
+        long target = Math.max(1, (long)Math.ceil(Math.max(0, Math.min(1, fraction)) * total));
+        long seen = 0;
+
+        for (int v = 0; v < counts.length; v++) {
+            seen += counts[v];
+            if (seen >= target)
+                return v;
+        }
+
+        return 0;
+    }
+
+    // accessor methods
+
+    public long getCount(int value) {
+        return value < counts.length ? counts[value] : 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public double getMean() {
+        return total == 0 ? Double.NaN : (double)sum / total;
+    }
+
+    public double getVariance() {
+        return centralMoment(2);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getSkewness() {
+        return centralMoment(3) / Math.pow(getVariance(), 1.5);
+    }
+
+    public double getExcessKurtosis() {
+        double variance = getVariance();
+        return centralMoment(4) / (variance * variance) - 3;
+    }
+
+    public int getMin() {
+        for (int v = 0; v < counts.length; v++) {
+            if (counts[v] != 0)
+                return v;
+        }
+
+        return 0;
+    }
+
+    public int getMax() {
+        for (int v = counts.length - 1; v >= 0; v--) {
+            if (counts[v] != 0)
+                return v;
+        }
+
+        return 0;
+    }
+}
\ No newline at end of file
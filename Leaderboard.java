@@ -0,0 +1,238 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds every recorded time for one board configuration, ordered fastest first, in a treap where
+ * each node knows the size of its subtree. Adding a time, finding the rank of a time, and finding
+ * the time at a rank all take O(log n) expected, however many games are recorded.
+ *
+ * Last update: 10/18/26
+ */
+
+public class Leaderboard {
+    private Node root;
+    private long state = 0x9e3779b97f4a7c15L;   // xorshift state for node priorities
+
+    /**
+     * One recorded time, with a random priority that keeps the tree balanced.
+     */
+    private static class Node {
+        ScoreLog.Entry entry;
+        double time;    // copied from the entry so searches stay within the tree
+        long seq;
+        int priority;
+        int size = 1;   // nodes in the subtree rooted here
+        Node left;
+        Node right;
+
+        Node(ScoreLog.Entry entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+            time = entry.time;
+            seq = entry.seq;
+        }
+    }
+
+    /**
+     * Record a time.
+     *
+     * @param entry score to record
+     */
+    public void add(ScoreLog.Entry entry) {
+        state ^= state << 13;
+        state ^= state >>> 7;
+        state ^= state << 17;
+
+        root = insert(root, new Node(entry, (int)state));
+    }
+
+    /**
+     * Insert a node below another, rotating it up while its priority is higher. Scores are ordered by
+     * time, then by when they were submitted, so every score has its own place.
+     *
+     * @param n root of subtree
+     * @param x node being inserted
+     * @return new root of subtree
+     */
+    private static Node insert(Node n, Node x) {
+        if (n == null)
+            return x;
+
+        n.size++;
+
+        if (x.time < n.time || (x.time == n.time && x.seq < n.seq)) {
+            n.left = insert(n.left, x);
+
+            if (n.left.priority > n.priority)
+                n = rotateRight(n);
+        } else {
+            n.right = insert(n.right, x);
+
+            if (n.right.priority > n.priority)
+                n = rotateLeft(n);
+        }
+
+        return n;
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        l.size = n.size;
+        n.size = 1 + size(n.left) + size(n.right);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        r.size = n.size;
+        n.size = 1 + size(n.left) + size(n.right);
+        return r;
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    /**
+     * Find the place a time would take on the board.
+     *
+     * @param time time taken, in seconds
+     * @return 1 plus the number of recorded times strictly faster
+     */
+    public int rank(double time) {
+        int faster = 0;
+
+        for (Node n = root; n != null; ) {
+            if (n.time < time) {
+                faster += size(n.left) + 1;
+                n = n.right;
+            } else
+                n = n.left;
+        }
+
+        return faster + 1;
+    }
+
+    /**
+     * Find the place of a recorded score, which follows every equal time submitted before it, as in
+     * top().
+     *
+     * @param entry score on the board
+     * @return 1 plus the number of scores ordered before it
+     */
+    public int place(ScoreLog.Entry entry) {
+        int before = 0;
+
+        for (Node n = root; n != null; ) {
+            if (n.time < entry.time || (n.time == entry.time && n.seq < entry.seq)) {
+                before += size(n.left) + 1;
+                n = n.right;
+            } else
+                n = n.left;
+        }
+
+        return before + 1;
+    }
+
+    /**
+     * Get the score at a place on the board.
+     *
+     * @param k number of faster scores, from 0 for the fastest
+     * @return score at that place
+     * @throws IndexOutOfBoundsException if k is not less than size()
+     */
+    public ScoreLog.Entry get(int k) {
+        if (k < 0 || k >= size())
+            throw new IndexOutOfBoundsException("Place " + k + " of " + size());
+
+        Node n = root;
+        while (true) {
+            int left = size(n.left);
+
+            if (k < left)
+                n = n.left;
+            else if (k == left)
+                return n.entry;
+            else {
+                k -= left + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    /**
+     * List the fastest scores in order.
+     *
+     * @param k most scores to list
+     * @return up to k scores, fastest first
+     */
+    public List<ScoreLog.Entry> top(int k) {
+        List<ScoreLog.Entry> list = new ArrayList<>(Math.min(k, size()));
+        addInOrder(root, list, k);
+        return list;
+    }
+
+    /**
+     * Add scores of a subtree in order until a list is long enough.
+     *
+     * @param n root of subtree
+     * @param list list to add to
+     * @param k length to stop at
+     */
+    private static void addInOrder(Node n, List<ScoreLog.Entry> list, int k) {
+        if (n == null || list.size() >= k)
+            return;
+
+        addInOrder(n.left, list, k);
+        if (list.size() < k)
+            list.add(n.entry);
+        addInOrder(n.right, list, k);
+    }
+
+    /**
+     * Get the time at a percentile, with 0 the fastest and 1 the slowest.
+     *
+     * @param fraction percentile as a fraction from 0 to 1
+     * @return time at that percentile, or NaN if no times are recorded
+     */
+    public double timeAt(double fraction) {
+        if (size() == 0)
+            return Double.NaN;
+
+        int k = (int)Math.round(Math.max(0, Math.min(1, fraction)) * (size() - 1));
+        return get(k).time;
+    }
+
+    /**
+     * Get the share of recorded times that a time beats.
+     *
+     * @param time time taken, in seconds
+     * @return fraction of recorded times strictly slower, or 0 if no times are recorded
+     */
+    public double percentile(double time) {
+        if (size() == 0)
+            return 0;
+
+        // count the times at least as fast, then take the rest
+        int notSlower = 0;
+        for (Node n = root; n != null; ) {
+            if (n.time <= time) {
+                notSlower += size(n.left) + 1;
+                n = n.right;
+            } else
+                n = n.left;
+        }
+
+        return (double)(size() - notSlower) / size();
+    }
+
+    // accessor methods
+
+    public int size() {
+        return size(root);
+    }
+}
\ No newline at end of file
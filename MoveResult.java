@@ -0,0 +1,50 @@
+/**
+ * Describes the outcome of a single action taken on a game engine.
+ * Each engine reuses one result, so its contents are only valid until the next action.
+ *
+ * Last update: 10/18/26
+ */
+
+public class MoveResult {
+    private int status;     // status of the game after the action
+    private int[] changed;  // flat indices of spaces whose state changed
+    private int count;  // number of valid entries in changed
+    private int mineIndex;  // mine opened by the action, or -1
+
+    /**
+     * Fill in the outcome of an action.
+     *
+     * @param status status of the game after the action
+     * @param changed flat indices of spaces whose state changed
+     * @param count number of valid entries in changed
+     * @param mineIndex mine opened by the action, or -1
+     */
+    void set(int status, int[] changed, int count, int mineIndex) {
+        this.status = status;
+        this.changed = changed;
+        this.count = count;
+        this.mineIndex = mineIndex;
+    }
+
+    // accessor methods
+
+    public int getStatus() {
+        return status;
+    }
+
+    public int[] getChanged() {
+        return changed;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getMineIndex() {
+        return mineIndex;
+    }
+
+    public boolean isGameOver() {
+        return status != GameEngine.PLAYING;
+    }
+}
\ No newline at end of file
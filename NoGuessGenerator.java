@@ -0,0 +1,207 @@
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generates boards that can be cleared from the first click without ever guessing. Candidate
+ * layouts are played out by a Solver, and only those it clears completely are accepted. A board is
+ * given by the seed it was placed from, so Game.placeMines(row, col, seed) rebuilds it exactly.
+ * Candidates are tried on every core, each worker drawing from its own split of the random stream.
+ *
+ * Last update: 10/18/26
+ */
+
+public class NoGuessGenerator {
+    public static final long MAX_ATTEMPTS = 1L << 16;   // candidates tried before a board is given up on
+
+    private int height;
+    private int width;
+    private int numMines;
+    private SplittableRandom random;    // splits into an independent stream for each worker
+
+    /**
+     * Initialize the generator with an unpredictable seed.
+     *
+     * @param height number of rows of each board
+     * @param width number of columns of each board
+     * @param numMines number of mines on each board
+     */
+    public NoGuessGenerator(int height, int width, int numMines) {
+        this(height, width, numMines, new SplittableRandom());
+    }
+
+    /**
+     * Initialize the generator from a seed, so a sequential batch can be reproduced.
+     *
+     * @param height number of rows of each board
+     * @param width number of columns of each board
+     * @param numMines number of mines on each board
+     * @param seed seed for the random stream
+     */
+    public NoGuessGenerator(int height, int width, int numMines, long seed) {
+        this(height, width, numMines, new SplittableRandom(seed));
+    }
+
+    private NoGuessGenerator(int height, int width, int numMines, SplittableRandom random) {
+        this.height = height;
+        this.width = width;
+        this.numMines = numMines;
+        this.random = random;
+    }
+
+    /**
+     * Find one board that needs no guessing, using every core and stopping at the first found.
+     *
+     * @param row vertical location of first click
+     * @param col horizontal location of first click
+     * @return seed of the board, for Game.placeMines(row, col, seed)
+     * @throws IllegalStateException if no such board turns up within MAX_ATTEMPTS candidates
+     */
+    public long generate(int row, int col) {
+        Boards boards = new Boards(row, col, Long.MAX_VALUE, split(), new AtomicLong(), new AtomicBoolean());
+        OptionalLong seed = StreamSupport.longStream(boards, true).findAny();
+
+        if (!seed.isPresent())
+            throw new IllegalStateException("No board without guessing found in " + MAX_ATTEMPTS + " attempts");
+
+        return seed.getAsLong();
+    }
+
+    /**
+     * Stream many boards that need no guessing, such as for an offline corpus. The stream is
+     * parallel; call sequential() on it for a batch that is reproduced by the same seed.
+     *
+     * @param row vertical location of first click
+     * @param col horizontal location of first click
+     * @param count number of boards to generate
+     * @return seeds of the boards, each for Game.placeMines(row, col, seed); shorter than count if
+     *         MAX_ATTEMPTS candidates per board are used up
+     */
+    public LongStream stream(int row, int col, long count) {
+        // the shared count starts below zero so every board gets its own budget of attempts
+        AtomicLong attempts = new AtomicLong(-Math.min(count, Long.MAX_VALUE / MAX_ATTEMPTS) * MAX_ATTEMPTS);
+        return StreamSupport.longStream(new Boards(row, col, count, split(), attempts, null), true);
+    }
+
+    /**
+     * Check whether a board can be cleared without guessing.
+     *
+     * @param row vertical location of first click
+     * @param col horizontal location of first click
+     * @param seed seed the board is placed from
+     * @return true if the solver clears every safe space from the first click
+     */
+    public boolean isSolvable(int row, int col, long seed) {
+        return new Boards(row, col, 1, null, null, null).isSolvable(seed);
+    }
+
+    private synchronized SplittableRandom split() {
+        return random.split();
+    }
+
+    /**
+     * Produces seeds of boards that need no guessing. Each split gets its own random stream and its
+     * own game and solver, so workers share nothing but the attempt count and the stop flag.
+     */
+    private class Boards implements Spliterator.OfLong {
+        private int row;
+        private int col;
+        private long remaining;     // boards still to produce
+        private SplittableRandom random;
+        private AtomicLong attempts;    // candidates tried by every worker, stopping at MAX_ATTEMPTS
+        private AtomicBoolean found;    // set once any worker finds a board, or null to keep going
+
+        // working space, allocated when this split first runs
+        private Game game;
+        private RevealEngine revealEngine;
+        private Solver solver;
+
+        Boards(int row, int col, long remaining, SplittableRandom random, AtomicLong attempts, AtomicBoolean found) {
+            this.row = row;
+            this.col = col;
+            this.remaining = remaining;
+            this.random = random;
+            this.attempts = attempts;
+            this.found = found;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            while (remaining > 0) {
+                // stop once another worker has a board or the attempts are used up
+                if ((found != null && found.get()) || attempts.incrementAndGet() > MAX_ATTEMPTS)
+                    return false;
+
+                long seed = random.nextLong();
+                if (isSolvable(seed)) {
+                    remaining--;
+                    if (found != null)
+                        found.set(true);
+
+                    action.accept(seed);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            if (remaining < 2)
+                return null;
+
+            long half = remaining >>> 1;
+            remaining -= half;
+            return new Boards(row, col, half, random.split(), attempts, found);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | IMMUTABLE;
+        }
+
+        /**
+         * Place a candidate board and play it out from the first click with only certain moves.
+         *
+         * @param seed seed the board is placed from
+         * @return true if every safe space was opened
+         */
+        boolean isSolvable(long seed) {
+            if (game == null) {
+                game = new Game(height, width, numMines);
+                revealEngine = new RevealEngine(game);
+                solver = new Solver(game);
+            }
+
+            game.clear();
+            game.placeMines(row, col, seed);
+            game.generateNumbers();
+            solver.reset();
+
+            int count = revealEngine.reveal(row, col);
+            while (true) {
+                solver.update(revealEngine.getRevealed(), count);
+                solver.solve();
+
+                int index = solver.nextSafe();
+                if (index < 0)
+                    break;
+
+                count = revealEngine.reveal(index / width, index % width);
+            }
+
+            return game.getNumSafeRemaining() == 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,780 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calculates the exact chance that each unopened space is a mine from the visible state of a game.
+ * Unopened spaces next to an opened number form the frontier, which is split into independent
+ * components that are enumerated separately. Their results are combined with the spaces away from
+ * every number through binomial weights taken in log space, so large boundaries stay tractable.
+ * Large frontiers are enumerated across a ForkJoin pool, and a calculation can be cancelled from
+ * another thread once its position is stale. Each calculation runs under a ticket from
+ * getTicket(), and cancelling a ticket stops its calculation even if it has not begun yet.
+ *
+ * Last update: 10/18/26
+ */
+
+public class ProbabilityEngine {
+    private static final int PARALLEL_THRESHOLD = 32;   // spaces in a component before enumeration goes parallel
+    private static final int MIN_SPLIT = 12;    // unassigned spaces below which a search is not split
+    private static final int CANCEL_CHECK = 1 << 12;    // positions visited between checks for cancellation
+
+    private Game game;  // game being analyzed
+    private int height;
+    private int width;
+
+    private double[] logFact;   // log of n! for every n up to the number of spaces
+    private double[] probs;     // chance of a mine in each space from the last calculation
+    private double interiorProb;    // chance of a mine in each space away from every number
+    private List<Component> components;     // frontier components from the last calculation
+
+    private ForkJoinPool pool;  // pool for large frontiers, or null to always enumerate on the calling thread
+    private AtomicLong generation = new AtomicLong();    // advanced by every cancel, invalidating earlier tickets
+
+    /**
+     * Holds one independent group of frontier spaces and the numbers that constrain them.
+     */
+    static class Component {
+        int[] cells;    // flat indices of frontier spaces
+        int[] targets;  // mines still needed around each number
+        int[][] constraintCells;    // local positions of the spaces around each number
+        int[][] cellConstraints;    // numbers touching each local space
+        int maxMines;   // no layout may use more mines than remain in the game
+
+        AtomicLong generation;  // generation of the engine, which moves past ticket once the calculation is cancelled
+        long ticket;
+
+        // results of enumeration, indexed by the number of mines used in the component
+        double[] counts;    // layouts using each number of mines
+        double[][] cellCounts;  // layouts using each number of mines with a mine in each space, or null if none
+
+        /**
+         * Order spaces breadth-first through shared numbers, so each number is settled soon after
+         * its first space is assigned and dead ends are cut off early.
+         */
+        void reorder() {
+            int n = cells.length;
+            int[] order = new int[n];
+            int[] newPos = new int[n];
+            Arrays.fill(newPos, -1);
+            int count = 0;
+
+            for (int start = 0; start < n; start++) {
+                if (newPos[start] >= 0)
+                    continue;
+
+                newPos[start] = count;
+                order[count++] = start;
+
+                for (int head = count - 1; head < count; head++) {
+                    for (int c : cellConstraints[order[head]]) {
+                        for (int q : constraintCells[c]) {
+                            if (newPos[q] < 0) {
+                                newPos[q] = count;
+                                order[count++] = q;
+                            }
+                        }
+                    }
+                }
+            }
+
+            int[] newCells = new int[n];
+            int[][] newCellConstraints = new int[n][];
+            for (int p = 0; p < n; p++) {
+                newCells[newPos[p]] = cells[p];
+                newCellConstraints[newPos[p]] = cellConstraints[p];
+            }
+
+            for (int[] cc : constraintCells) {
+                for (int i = 0; i < cc.length; i++)
+                    cc[i] = newPos[cc[i]];
+            }
+
+            cells = newCells;
+            cellConstraints = newCellConstraints;
+        }
+
+        /**
+         * Count every layout of mines that satisfies all numbers of the component on this thread.
+         */
+        void enumerate() {
+            SearchTask task = newSearch(false);
+            task.compute();
+            collect(task);
+        }
+
+        /**
+         * Create the task that enumerates the whole component.
+         *
+         * @param parallel true to let the search fork branches for idle threads to steal
+         * @return search starting from the first space with nothing assigned
+         */
+        SearchTask newSearch(boolean parallel) {
+            int[] open = new int[targets.length];
+            for (int c = 0; c < targets.length; c++)
+                open[c] = constraintCells[c].length;
+
+            return new SearchTask(parallel, 0, 0, new int[cells.length], new int[targets.length], open);
+        }
+
+        /**
+         * Take the results of a finished search as the results of the component.
+         *
+         * @param task search created by newSearch()
+         */
+        void collect(SearchTask task) {
+            counts = task.counts;
+            cellCounts = task.cellCounts;
+        }
+
+        /**
+         * Backtracking search over the spaces from one position on. When running in a pool, a branch
+         * is forked whenever the pool has run out of queued work, so idle threads steal subtrees of
+         * large components instead of waiting on them.
+         */
+        class SearchTask extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private boolean parallel;
+            private int startPos;
+            private int startMines;
+
+            // assignment state, owned by this task
+            private int[] value;
+            private int[] sums;     // mines assigned around each number
+            private int[] open;     // spaces still unassigned around each number
+
+            private double[] counts;
+            private double[][] cellCounts;
+            private List<SearchTask> forked;    // branches handed to other threads
+            private int nodes;  // positions visited since cancellation was last checked
+
+            SearchTask(boolean parallel, int startPos, int startMines, int[] value, int[] sums, int[] open) {
+                this.parallel = parallel;
+                this.startPos = startPos;
+                this.startMines = startMines;
+                this.value = value;
+                this.sums = sums;
+                this.open = open;
+            }
+
+            @Override
+            protected void compute() {
+                counts = new double[cells.length + 1];
+                cellCounts = new double[cells.length + 1][];
+                forked = new ArrayList<>();
+
+                search(startPos, startMines);
+
+                // join the newest branches first, so unstolen ones run here without blocking
+                for (int k = forked.size() - 1; k >= 0; k--) {
+                    SearchTask branch = forked.get(k);
+                    branch.join();
+                    merge(branch);
+                }
+            }
+
+            /**
+             * Assign the space at a position, then the rest, recording each complete layout.
+             *
+             * @param pos local position of space being assigned
+             * @param mines mines assigned so far
+             */
+            private void search(int pos, int mines) {
+                if (++nodes >= CANCEL_CHECK) {
+                    nodes = 0;
+                    if (generation.get() != ticket)
+                        throw new CancellationException();
+                }
+
+                if (pos == cells.length) {
+                    record(mines);
+                    return;
+                }
+
+                boolean mineFits = mines < maxMines && fits(pos, 1);
+
+                // hand the mine branch to another thread while this one takes the safe branch
+                if (mineFits && parallel && cells.length - pos >= MIN_SPLIT && fits(pos, 0)
+                        && getSurplusQueuedTaskCount() < 2) {
+                    apply(pos, 1, 1);
+                    value[pos] = 1;
+                    SearchTask branch = new SearchTask(true, pos + 1, mines + 1, value.clone(), sums.clone(), open.clone());
+                    apply(pos, 1, -1);
+
+                    branch.fork();
+                    forked.add(branch);
+                    mineFits = false;
+                }
+
+                for (int v = 0; v <= 1; v++) {
+                    if (v == 1 ? !mineFits : !fits(pos, 0))
+                        continue;
+
+                    apply(pos, v, 1);
+                    value[pos] = v;
+                    search(pos + 1, mines + v);
+                    apply(pos, v, -1);
+                }
+
+                value[pos] = 0;
+            }
+
+            /**
+             * Count the current complete layout.
+             *
+             * @param mines mines in the layout
+             */
+            private void record(int mines) {
+                counts[mines]++;
+
+                double[] row = cellCounts[mines];
+                if (row == null)
+                    row = cellCounts[mines] = new double[cells.length];
+
+                for (int i = 0; i < value.length; i++)
+                    row[i] += value[i];
+            }
+
+            /**
+             * Add the layouts found by a finished branch.
+             *
+             * @param branch branch forked by this task
+             */
+            private void merge(SearchTask branch) {
+                for (int m = 0; m < counts.length; m++) {
+                    if (branch.cellCounts[m] == null)
+                        continue;
+
+                    counts[m] += branch.counts[m];
+
+                    if (cellCounts[m] == null)
+                        cellCounts[m] = branch.cellCounts[m];
+                    else {
+                        for (int i = 0; i < cells.length; i++)
+                            cellCounts[m][i] += branch.cellCounts[m][i];
+                    }
+                }
+            }
+
+            /**
+             * Check that assigning a value keeps every touching number satisfiable.
+             *
+             * @param pos local position of space
+             * @param v 1 for a mine, 0 for a safe space
+             * @return true if every touching number can still be met
+             */
+            private boolean fits(int pos, int v) {
+                for (int c : cellConstraints[pos]) {
+                    int sum = sums[c] + v;
+                    int remaining = open[c] - 1;
+
+                    if (sum > targets[c] || sum + remaining < targets[c])
+                        return false;
+                }
+
+                return true;
+            }
+
+            /**
+             * Add or remove an assignment from the running sums of touching numbers.
+             *
+             * @param pos local position of space
+             * @param v 1 for a mine, 0 for a safe space
+             * @param sign 1 to add the assignment, -1 to remove it
+             */
+            private void apply(int pos, int v, int sign) {
+                for (int c : cellConstraints[pos]) {
+                    sums[c] += sign * v;
+                    open[c] -= sign;
+                }
+            }
+        }
+
+        /**
+         * Get the log of the number of layouts using each number of mines.
+         *
+         * @return log counts, negative infinity where there are none
+         */
+        double[] logCounts() {
+            double[] logs = new double[counts.length];
+
+            for (int k = 0; k < counts.length; k++)
+                logs[k] = Math.log(counts[k]);  // log(0) is negative infinity
+
+            return logs;
+        }
+    }
+
+    /**
+     * Initialize the engine for a game, enumerating large frontiers on the common pool.
+     *
+     * @param game game being analyzed
+     */
+    public ProbabilityEngine(Game game) {
+        this(game, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initialize the engine for a game.
+     *
+     * @param game game being analyzed
+     * @param pool pool for large frontiers, or null to always enumerate on the calling thread
+     */
+    public ProbabilityEngine(Game game, ForkJoinPool pool) {
+        this.game = game;
+        this.pool = pool;
+        height = game.getHeight();
+        width = game.getWidth();
+
+        logFact = new double[game.getNumSpaces() + 1];
+        for (int i = 1; i < logFact.length; i++)
+            logFact[i] = logFact[i - 1] + Math.log(i);
+
+        probs = new double[game.getNumSpaces()];
+    }
+
+    /**
+     * Calculate the chance of a mine in every space.
+     *
+     * @param solver solver whose certain deductions are used, or null to use only opened numbers
+     * @return chance of a mine in each space, indexed by flat position; opened spaces are 0
+     * @throws CancellationException if cancel() was called while calculating
+     */
+    public double[] calculate(Solver solver) {
+        return calculate(solver, getTicket());
+    }
+
+    /**
+     * Calculate the chance of a mine in every space, unless the ticket is cancelled first.
+     *
+     * @param solver solver whose certain deductions are used, or null to use only opened numbers
+     * @param ticket ticket from getTicket(), taken when the calculation was wanted
+     * @return chance of a mine in each space, indexed by flat position; opened spaces are 0
+     * @throws CancellationException if the ticket was cancelled before or while calculating
+     */
+    public double[] calculate(Solver solver, long ticket) {
+        if (generation.get() != ticket)
+            throw new CancellationException();
+
+        components = findComponents(solver);
+        for (Component comp : components)
+            comp.ticket = ticket;
+
+        int largest = 0;
+        for (Component comp : components)
+            largest = Math.max(largest, comp.cells.length);
+
+        if (pool != null && largest >= PARALLEL_THRESHOLD)
+            enumerateParallel();
+        else {
+            for (Component comp : components)
+                comp.enumerate();
+        }
+
+        combine(solver);
+        return probs;
+    }
+
+    /**
+     * Enumerate every component at once in the pool, each free to split its own search.
+     */
+    private void enumerateParallel() {
+        List<Component.SearchTask> tasks = new ArrayList<>();
+        for (Component comp : components)
+            tasks.add(comp.newSearch(true));
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        for (int k = 0; k < components.size(); k++)
+            components.get(k).collect(tasks.get(k));
+    }
+
+    /**
+     * Get a ticket for the next calculation, which stays valid until a cancel.
+     *
+     * @return ticket to pass to calculate() and cancel()
+     */
+    public long getTicket() {
+        return generation.get();
+    }
+
+    /**
+     * Stop the calculation in progress and any whose ticket was already taken, such as when the
+     * player moves before it finishes. The calculating thread throws CancellationException soon
+     * after; a calculation with a ticket taken later is unaffected.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Stop the calculation of one ticket, such as when it runs out of time. Does nothing if that
+     * ticket is already cancelled, so a late cancel never stops a newer calculation.
+     *
+     * @param ticket ticket from getTicket()
+     */
+    public void cancel(long ticket) {
+        generation.compareAndSet(ticket, ticket + 1);
+    }
+
+    /**
+     * Split the frontier into groups of spaces linked through shared numbers.
+     *
+     * @param solver solver whose certain deductions are used, or null
+     * @return frontier components, ready to enumerate
+     */
+    List<Component> findComponents(Solver solver) {
+        int n = game.getNumSpaces();
+        int[] parent = new int[n];
+        int[] local = new int[n];   // position of each frontier space within its component
+        boolean[] frontier = new boolean[n];
+        int minesLeft = game.getNumMines() - knownMines(solver);
+
+        for (int i = 0; i < n; i++)
+            parent[i] = i;
+
+        // link the unknown neighbors of each opened number
+        for (int c = 0; c < n; c++) {
+            if (!isNumber(c))
+                continue;
+
+            int first = -1;
+            for (int adj : neighbors(c)) {
+                if (isUnknown(adj, solver)) {
+                    frontier[adj] = true;
+
+                    if (first < 0)
+                        first = adj;
+                    else
+                        union(parent, first, adj);
+                }
+            }
+        }
+
+        // gather spaces of each component in index order
+        int[] compOf = new int[n];
+        Arrays.fill(compOf, -1);
+        List<List<Integer>> cellLists = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            if (!frontier[i])
+                continue;
+
+            int root = find(parent, i);
+            if (compOf[root] < 0) {
+                compOf[root] = cellLists.size();
+                cellLists.add(new ArrayList<>());
+            }
+
+            List<Integer> list = cellLists.get(compOf[root]);
+            local[i] = list.size();
+            list.add(i);
+        }
+
+        // attach each opened number to the component of its unknown neighbors
+        List<List<int[]>> constraintLists = new ArrayList<>();
+        List<List<Integer>> targetLists = new ArrayList<>();
+        for (int k = 0; k < cellLists.size(); k++) {
+            constraintLists.add(new ArrayList<>());
+            targetLists.add(new ArrayList<>());
+        }
+
+        for (int c = 0; c < n; c++) {
+            if (!isNumber(c))
+                continue;
+
+            int[] around = new int[8];
+            int count = 0;
+            int target = game.getValue(c);
+            int comp = -1;
+
+            for (int adj : neighbors(c)) {
+                if (solver != null && solver.isKnownMine(adj))
+                    target--;
+                else if (isUnknown(adj, solver)) {
+                    comp = compOf[find(parent, adj)];
+                    around[count++] = local[adj];
+                }
+            }
+
+            if (count > 0) {
+                constraintLists.get(comp).add(Arrays.copyOf(around, count));
+                targetLists.get(comp).add(target);
+            }
+        }
+
+        List<Component> result = new ArrayList<>();
+        for (int k = 0; k < cellLists.size(); k++) {
+            Component comp = new Component();
+            List<Integer> cells = cellLists.get(k);
+            List<int[]> constraints = constraintLists.get(k);
+
+            comp.cells = cells.stream().mapToInt(Integer::intValue).toArray();
+            comp.constraintCells = constraints.toArray(new int[0][]);
+            comp.targets = targetLists.get(k).stream().mapToInt(Integer::intValue).toArray();
+            comp.maxMines = minesLeft;
+            comp.generation = generation;
+
+            // list the numbers touching each space
+            int[] touching = new int[cells.size()];
+            for (int[] cc : constraints) {
+                for (int p : cc)
+                    touching[p]++;
+            }
+
+            comp.cellConstraints = new int[cells.size()][];
+            for (int p = 0; p < touching.length; p++)
+                comp.cellConstraints[p] = new int[touching[p]];
+
+            Arrays.fill(touching, 0);
+            for (int c = 0; c < constraints.size(); c++) {
+                for (int p : constraints.get(c))
+                    comp.cellConstraints[p][touching[p]++] = c;
+            }
+
+            comp.reorder();
+            result.add(comp);
+        }
+
+        return result;
+    }
+
+    /**
+     * Weight the layouts of every component by the ways to place the remaining mines away from the
+     * frontier, and turn the weighted counts into a chance for each space.
+     *
+     * @param solver solver whose certain deductions are used, or null
+     */
+    void combine(Solver solver) {
+        int n = game.getNumSpaces();
+        int minesLeft = game.getNumMines() - knownMines(solver);
+        int numComps = components.size();
+
+        // spaces away from every number
+        int interior = 0;
+        boolean[] inFrontier = new boolean[n];
+        for (Component comp : components) {
+            for (int cell : comp.cells)
+                inFrontier[cell] = true;
+        }
+        for (int i = 0; i < n; i++) {
+            if (isUnknown(i, solver) && !inFrontier[i])
+                interior++;
+        }
+
+        // log distributions of frontier mines over the components before and after each one
+        double[][] prefix = new double[numComps + 1][];
+        double[][] suffix = new double[numComps + 1][];
+        prefix[0] = new double[]{0};
+        suffix[numComps] = new double[]{0};
+
+        for (int k = 0; k < numComps; k++)
+            prefix[k + 1] = convolve(prefix[k], components.get(k).logCounts());
+        for (int k = numComps - 1; k >= 0; k--)
+            suffix[k] = convolve(components.get(k).logCounts(), suffix[k + 1]);
+
+        // total weight and expected mines away from the frontier
+        double[] total = prefix[numComps];
+        double logZ = Double.NEGATIVE_INFINITY;
+        double logInteriorMines = Double.NEGATIVE_INFINITY;
+
+        for (int m = 0; m < total.length; m++) {
+            int rest = minesLeft - m;
+            if (rest < 0 || rest > interior || total[m] == Double.NEGATIVE_INFINITY)
+                continue;
+
+            double w = total[m] + logChoose(interior, rest);
+            logZ = logAdd(logZ, w);
+
+            if (rest > 0)
+                logInteriorMines = logAdd(logInteriorMines, w + Math.log(rest));
+        }
+
+        interiorProb = interior > 0 ? Math.exp(logInteriorMines - logZ) / interior : 0;
+
+        // chance for each frontier space, weighting its layouts by every way to fill the rest
+        for (int k = 0; k < numComps; k++) {
+            Component comp = components.get(k);
+            double[] others = convolve(prefix[k], suffix[k + 1]);
+            double[] sums = new double[comp.cells.length];
+            Arrays.fill(sums, Double.NEGATIVE_INFINITY);
+
+            for (int m = 0; m < comp.counts.length; m++) {
+                if (comp.counts[m] == 0)
+                    continue;
+
+                // weight of every completion given this component uses m mines
+                double w = Double.NEGATIVE_INFINITY;
+                for (int o = 0; o < others.length; o++) {
+                    int rest = minesLeft - m - o;
+                    if (rest >= 0 && rest <= interior && others[o] != Double.NEGATIVE_INFINITY)
+                        w = logAdd(w, others[o] + logChoose(interior, rest));
+                }
+
+                for (int p = 0; p < comp.cells.length; p++) {
+                    if (comp.cellCounts[m][p] > 0)
+                        sums[p] = logAdd(sums[p], Math.log(comp.cellCounts[m][p]) + w);
+                }
+            }
+
+            for (int p = 0; p < comp.cells.length; p++)
+                probs[comp.cells[p]] = Math.exp(sums[p] - logZ);
+        }
+
+        // fill in every other space
+        for (int i = 0; i < n; i++) {
+            if (game.isCleared(i) || (solver != null && solver.isKnownSafe(i)))
+                probs[i] = 0;
+            else if (solver != null && solver.isKnownMine(i))
+                probs[i] = 1;
+            else if (!inFrontier[i])
+                probs[i] = interiorProb;
+        }
+    }
+
+    /**
+     * Find the unopened space least likely to be a mine.
+     *
+     * @return flat position of space, or -1 if every space is open
+     */
+    public int getSafestSpace() {
+        int best = -1;
+
+        for (int i = 0; i < probs.length; i++) {
+            if (!game.isCleared(i) && (best < 0 || probs[i] < probs[best]))
+                best = i;
+        }
+
+        return best;
+    }
+
+    /**
+     * Convolve two log-space distributions.
+     *
+     * @param a log weights indexed by mines
+     * @param b log weights indexed by mines
+     * @return log weights of the sum
+     */
+    static double[] convolve(double[] a, double[] b) {
+        double[] out = new double[a.length + b.length - 1];
+        Arrays.fill(out, Double.NEGATIVE_INFINITY);
+
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == Double.NEGATIVE_INFINITY)
+                continue;
+
+            for (int j = 0; j < b.length; j++) {
+                if (b[j] != Double.NEGATIVE_INFINITY)
+                    out[i + j] = logAdd(out[i + j], a[i] + b[j]);
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Add two numbers given as logs without leaving log space.
+     *
+     * @param x log of first number
+     * @param y log of second number
+     * @return log of the sum
+     */
+    static double logAdd(double x, double y) {
+        if (x == Double.NEGATIVE_INFINITY)
+            return y;
+        if (y == Double.NEGATIVE_INFINITY)
+            return x;
+
+        double max = Math.max(x, y);
+        return max + Math.log1p(Math.exp(Math.min(x, y) - max));
+    }
+
+    /**
+     * Get the log of the binomial coefficient n choose k.
+     *
+     * @param n size of set
+     * @param k size of subset
+     * @return log of the number of subsets
+     */
+    private double logChoose(int n, int k) {
+        return logFact[n] - logFact[k] - logFact[n - k];
+    }
+
+    /**
+     * Count spaces the solver has proven to be mines.
+     *
+     * @param solver solver whose certain deductions are used, or null
+     * @return number of known mines
+     */
+    private int knownMines(Solver solver) {
+        return solver == null ? 0 : solver.getMineCount();
+    }
+
+    private boolean isNumber(int index) {
+        return game.isCleared(index) && game.getValue(index) > 0;
+    }
+
+    private boolean isUnknown(int index, Solver solver) {
+        return !game.isCleared(index) && (solver == null || (!solver.isKnownMine(index) && !solver.isKnownSafe(index)));
+    }
+
+    /**
+     * List the neighbors of a space.
+     *
+     * @param index flat position of space
+     * @return flat positions of neighbors on the grid
+     */
+    private int[] neighbors(int index) {
+        int r = index / width;
+        int c = index - r * width;
+        int[] out = new int[(Math.min(r + 1, height - 1) - Math.max(r - 1, 0) + 1)
+                * (Math.min(c + 1, width - 1) - Math.max(c - 1, 0) + 1) - 1];
+        int k = 0;
+
+        for (int i = Math.max(r - 1, 0); i <= Math.min(r + 1, height - 1); i++) {
+            for (int j = Math.max(c - 1, 0); j <= Math.min(c + 1, width - 1); j++) {
+                if (i != r || j != c)
+                    out[k++] = i * width + j;
+            }
+        }
+
+        return out;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+
+    // accessor methods
+
+    public double[] getProbabilities() {
+        return probs;
+    }
+
+    public double getInteriorProbability() {
+        return interiorProb;
+    }
+
+    public int getNumComponents() {
+        return components == null ? 0 : components.size();
+    }
+}
\ No newline at end of file
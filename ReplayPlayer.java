@@ -0,0 +1,339 @@
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Plays back a game recorded by ReplayRecorder on a Game, one action at a time or by jumping to a
+ * time. Jumps restore the last keyframe before the time from the record's seek index and apply
+ * only the actions after it, so any point of a long game is reached in bounded time. The same
+ * player can load record after record, keeping its Game while the board size stays the same, and
+ * decodes straight from the buffer without creating objects.
+ *
+ * Last update: 10/18/26
+ */
+
+public class ReplayPlayer {
+    private static final int INDEX_ENTRY = 12;  // bytes of each seek index entry: time and offset
+
+    private ByteBuffer buf;     // holds the record
+    private int pos;    // next byte of buf to decode
+    private CRC32 crc = new CRC32();
+
+    // record properties
+    private int flags;
+    private int status;
+    private long timestamp;
+    private int numEvents;
+    private int eventsStart;    // offset of the first event in buf
+    private int indexStart;     // offset of the first seek index entry in buf, or -1
+    private int numKeyframes;
+
+    // board the record is played on
+    private Game game;
+    private RevealEngine revealEngine;
+    private long[] cleared = new long[0];   // reused to restore the states of each keyframe
+    private long[] flagged = new long[0];
+    private long[] marked = new long[0];
+
+    // last action applied
+    private int eventNumber;    // actions applied so far
+    private int kind;
+    private int index;
+    private long time;  // microseconds since the first action
+
+    /**
+     * Load a record, rebuilding its board with every space unopened.
+     *
+     * @param buf buffer holding the record
+     * @param offset position of the record's length field in buf
+     * @return false if the record's checksum does not match, leaving nothing loaded
+     */
+    public boolean load(ByteBuffer buf, int offset) {
+        int start = offset + 4;
+        int end = start + buf.getInt(offset);
+
+        // check the record before trusting any of it
+        int position = buf.position();
+        int limit = buf.limit();
+        buf.limit(end - 4).position(start);
+        crc.reset();
+        crc.update(buf);
+        buf.limit(limit).position(position);
+
+        if (buf.getInt(end - 4) != (int)crc.getValue())
+            return false;
+
+        this.buf = buf;
+        pos = start;
+
+        int height = (int)varint();
+        int width = (int)varint();
+        int numMines = (int)varint();
+        flags = buf.get(pos++);
+        status = buf.get(pos++);
+        timestamp = buf.getLong(pos);
+        pos += 8;
+
+        if (game == null || game.getHeight() != height || game.getWidth() != width
+                || game.getNumMines() != numMines) {
+            game = new Game(height, width, numMines);
+            revealEngine = new RevealEngine(game);
+            cleared = new long[game.getNumStateWords()];
+            flagged = new long[cleared.length];
+            marked = new long[cleared.length];
+        }
+
+        // place the mines as they were
+        game.clear();
+        if ((flags & ReplayRecorder.SEEDED) != 0) {
+            int first = (int)varint();
+            game.placeMines(first / width, first % width, buf.getLong(pos));
+            pos += 8;
+        } else {
+            for (int k = 0, mine = -1; k < numMines; k++) {
+                mine += (int)varint() + 1;
+                game.setValue(mine / width, mine % width, Game.MINE);
+            }
+        }
+        game.generateNumbers();
+
+        numEvents = (int)varint();
+        eventsStart = pos;
+
+        if ((flags & ReplayRecorder.KEYFRAMES) != 0) {
+            pos = start + buf.getInt(end - 8);
+            numKeyframes = (int)varint();
+            indexStart = pos;
+        } else {
+            numKeyframes = 0;
+            indexStart = -1;
+        }
+
+        rewind();
+        return true;
+    }
+
+    /**
+     * Return to before the first action.
+     */
+    public void rewind() {
+        game.resetStates();
+        pos = eventsStart;
+        eventNumber = 0;
+        kind = -1;
+        index = 0;
+        time = 0;
+    }
+
+    /**
+     * Apply the next action.
+     *
+     * @return number of spaces the action opened, which are held at the front of getRevealed(),
+     *         or -1 if every action has been applied
+     */
+    public int step() {
+        if (eventNumber == numEvents)
+            return -1;
+
+        long v = varint();
+        long zigzag = v >>> ReplayRecorder.KIND_BITS;
+        kind = (int)(v & ((1 << ReplayRecorder.KIND_BITS) - 1));
+        index += (int)(zigzag >>> 1) ^ -(int)(zigzag & 1);
+        time += varint();
+
+        int row = index / game.getWidth();
+        int col = index - row * game.getWidth();
+        int count = 0;
+
+        switch (kind) {
+            case ReplayRecorder.REVEAL:
+                count = revealEngine.reveal(row, col);
+                break;
+            case ReplayRecorder.CHORD:
+                count = revealEngine.chord(row, col);
+                break;
+            case ReplayRecorder.FLAG:
+                game.setFlagged(index, true);
+                game.setMarked(index, true);
+                break;
+            case ReplayRecorder.QUESTION:
+                game.setFlagged(index, false);
+                game.setMarked(index, true);
+                break;
+            default:
+                game.setFlagged(index, false);
+                game.setMarked(index, false);
+        }
+
+        // pass over a keyframe, which the next action starts from
+        if (++eventNumber % ReplayRecorder.KEYFRAME_INTERVAL == 0 && indexStart >= 0) {
+            int length = (int)varint();
+            pos += length;
+            index = 0;
+        }
+
+        return count;
+    }
+
+    /**
+     * Bring the board to how it stood at a time, after every action taken by then. Restores the last
+     * keyframe at or before the time unless the board is already between it and the time.
+     *
+     * @param micros microseconds since the first action
+     */
+    public void seek(long micros) {
+        // find the last keyframe at or before the time
+        int lo = 0;
+        int hi = numKeyframes;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (buf.getLong(indexStart + mid * INDEX_ENTRY) <= micros)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        int keyframe = lo - 1;
+        int keyframeEvent = (keyframe + 1) * ReplayRecorder.KEYFRAME_INTERVAL;
+
+        if (time > micros || eventNumber < keyframeEvent) {
+            if (keyframe >= 0)
+                restore(keyframe);
+            else
+                rewind();
+        }
+
+        while (eventNumber < numEvents && peekTime() <= micros)
+            step();
+    }
+
+    /**
+     * Restore the states saved by a keyframe.
+     *
+     * @param keyframe number of the keyframe, from 0
+     */
+    private void restore(int keyframe) {
+        int entry = indexStart + keyframe * INDEX_ENTRY;
+        int n = game.getNumSpaces();
+
+        pos = eventsStart + buf.getInt(entry + 8);
+        varint();   // length
+        getRuns(cleared, n);
+        getRuns(flagged, n);
+        getRuns(marked, n);
+
+        for (int w = 0; w < marked.length; w++)
+            marked[w] |= flagged[w];    // flags are marked too
+
+        game.setStates(cleared, flagged, marked);
+
+        eventNumber = (keyframe + 1) * ReplayRecorder.KEYFRAME_INTERVAL;
+        kind = -1;
+        index = 0;
+        time = buf.getLong(entry);
+    }
+
+    /**
+     * Read a bitset written as runs by ReplayRecorder.
+     *
+     * @param bits bitset to fill
+     * @param n number of bits
+     */
+    private void getRuns(long[] bits, int n) {
+        for (int w = 0; w < bits.length; w++)
+            bits[w] = 0;
+
+        boolean set = false;
+        for (int p = 0; p < n; set = !set) {
+            int q = p + (int)varint();
+
+            // set whole words at a time between the ends of the run
+            for (int i = p; set && i < q; ) {
+                int w = i >>> 6;
+                int stop = Math.min(q, (w + 1) << 6);
+                bits[w] |= (-1L << i) & (-1L >>> (64 - (stop - (w << 6))));
+                i = stop;
+            }
+
+            p = q;
+        }
+    }
+
+    /**
+     * Get the time of the next action without applying it.
+     *
+     * @return microseconds since the first action
+     */
+    private long peekTime() {
+        int start = pos;
+        varint();
+        long next = time + varint();
+        pos = start;
+        return next;
+    }
+
+    /**
+     * Read a varint written by ReplayRecorder.
+     *
+     * @return value read
+     */
+    private long varint() {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buf.get(pos++);
+            v |= (long)(b & 0x7f) << shift;
+            if (b >= 0)
+                return v;
+        }
+    }
+
+    /**
+     * Get the spaces opened by the last action. Only as many entries as step() returned are valid.
+     *
+     * @return flat indices of opened spaces
+     */
+    public int[] getRevealed() {
+        return revealEngine.getRevealed();
+    }
+
+    // accessor methods
+
+    public Game getGame() {
+        return game;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getNumEvents() {
+        return numEvents;
+    }
+
+    public int getEventNumber() {
+        return eventNumber;
+    }
+
+    public int getKind() {
+        return kind;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public int getMineIndex() {
+        return revealEngine.getMineIndex();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,510 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Records every game as it is played into an archive of compact binary replays. Each action is
+ * encoded into an in-memory buffer as it happens, which costs a few byte writes and no allocation,
+ * and the finished game is handed to a background thread that appends it to the archive.
+ * <p>
+ * The archive starts with a magic number and version, followed by one record per game:
+ * <pre>
+ *   length      int, bytes of the record after this field
+ *   height, width, numMines    varints
+ *   flags       byte, QMARKS, SEEDED, and KEYFRAMES
+ *   status      byte, GameEngine.WON, LOST, or PLAYING if the game was abandoned
+ *   timestamp   long, milliseconds since the epoch when the first action was taken
+ *   layout      seeded: varint first cell and long seed, which Game.placeMines(row, col, seed)
+ *               turns back into the board; otherwise a varint gap before each mine
+ *   numEvents   varint
+ *   events      per action, varint (zigzag(cell - previous cell) &lt;&lt; 3 | kind), then varint
+ *               microseconds since the previous action; after every KEYFRAME_INTERVAL actions,
+ *               a keyframe
+ *   seek index  numKeyframes varint, then per keyframe a long of microseconds since the first
+ *               action and an int of its offset from the first event
+ *   indexStart  int, offset of the seek index from height, so it can be found from the end
+ *   checksum    int, CRC32 of the record from height on
+ * </pre>
+ * Cells are mostly near the one before and actions a fraction of a second apart, so a typical
+ * action takes four bytes and an expert game a few hundred.
+ * <p>
+ * A keyframe is a varint length, then the cleared, flagged, and question marked spaces as three
+ * runs of varint lengths, alternating between spaces without and with the state. The action after
+ * a keyframe is a step from cell 0, so play can resume there without anything before it. Seeking
+ * restores the last keyframe before a time and applies fewer than KEYFRAME_INTERVAL actions.
+ * Records without the KEYFRAMES flag end after the events.
+ *
+ * Last update: 10/18/26
+ */
+
+public class ReplayRecorder {
+    public static final int MAGIC = 0x4d535250;     // "MSRP"
+    public static final int VERSION = 1;
+
+    // constants used to represent the kind of each action
+    public static final int REVEAL = 0;
+    public static final int CHORD = 1;
+    public static final int FLAG = 2;   // mark that placed a flag
+    public static final int QUESTION = 3;   // mark that left a question mark
+    public static final int UNMARK = 4;     // mark that removed the mark
+    public static final int KIND_BITS = 3;  // low bits of each event holding the kind
+
+    // flags of each record
+    public static final int QMARKS = 1;     // question marks were allowed
+    public static final int SEEDED = 2;     // layout is a seed rather than a list of mines
+    public static final int KEYFRAMES = 4;  // events carry keyframes and the record a seek index
+
+    public static final int KEYFRAME_INTERVAL = 256;    // actions between keyframes
+
+    private static final long CLOSE_TIMEOUT = 5;    // longest seconds close() waits for queued games
+    private static final int HEADER_SIZE = 8;   // magic and version
+    private static final int RECOVER_BUFFER = 1 << 20;  // bytes read at a time when checking the archive
+
+    private Path file;
+    private FileChannel channel;    // archive, used only on the writer thread
+    private ExecutorService writer;     // single thread appending each finished game
+    private Thread shutdownHook;
+
+    // game being recorded, used only on the recording thread
+    private Buffer events = new Buffer(256);    // encoded actions of the current game
+    private Buffer record = new Buffer(512);    // reused to assemble each finished game
+    private Buffer keyframe = new Buffer(256);  // reused to encode each keyframe
+    private Buffer seekIndex = new Buffer(64);  // entries of the seek index
+    private int numEvents;
+    private int numKeyframes;
+    private int lastIndex;  // cell of the previous action
+    private long lastTime;  // System.nanoTime() of the previous action
+    private long elapsed;   // microseconds since the first action, as encoded
+    private long timestamp;     // wall-clock time of the first action
+
+    // reused to copy the states of the game for each keyframe
+    private long[] cleared = new long[0];
+    private long[] flagged = new long[0];
+    private long[] marked = new long[0];
+
+    private CRC32 crc = new CRC32();
+
+    /**
+     * A growable byte array that writes fixed-size and variable-length numbers.
+     */
+    private static class Buffer {
+        byte[] data;
+        int size;
+
+        Buffer(int capacity) {
+            data = new byte[capacity];
+        }
+
+        void ensure(int extra) {
+            if (size + extra > data.length)
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+        }
+
+        void put(int b) {
+            ensure(1);
+            data[size++] = (byte)b;
+        }
+
+        void putInt(int v) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8)
+                data[size++] = (byte)(v >>> shift);
+        }
+
+        void putLong(long v) {
+            putInt((int)(v >>> 32));
+            putInt((int)v);
+        }
+
+        /**
+         * Write seven bits at a time, low bits first, with the high bit set on all but the last byte.
+         *
+         * @param v value to write, treated as unsigned
+         */
+        void putVarint(long v) {
+            ensure(10);
+            while ((v & ~0x7fL) != 0) {
+                data[size++] = (byte)(v | 0x80);
+                v >>>= 7;
+            }
+            data[size++] = (byte)v;
+        }
+
+        /**
+         * Write the first n bits of a bitset as the lengths of alternating runs of clear and set
+         * bits, starting with clear.
+         *
+         * @param bits bitset to write
+         * @param n number of bits
+         */
+        void putRuns(long[] bits, int n) {
+            boolean set = false;
+
+            for (int p = 0; p < n; set = !set) {
+                // find the next bit that differs from the current run
+                int w = p >>> 6;
+                long word = (set ? ~bits[w] : bits[w]) & (-1L << p);
+
+                while (word == 0 && ++w < bits.length)
+                    word = set ? ~bits[w] : bits[w];
+
+                int q = word == 0 ? n : Math.min(n, (w << 6) + Long.numberOfTrailingZeros(word));
+                putVarint(q - p);
+                p = q;
+            }
+        }
+
+        void putBytes(Buffer other) {
+            ensure(other.size);
+            System.arraycopy(other.data, 0, data, size, other.size);
+            size += other.size;
+        }
+    }
+
+    /**
+     * Open the archive in the default folder under the user's home.
+     *
+     * @throws IOException if the folder or archive cannot be opened
+     */
+    public ReplayRecorder() throws IOException {
+        this(Paths.get(System.getProperty("user.home"), ".minesweeper", "replays.bin"));
+    }
+
+    /**
+     * Open an archive, creating it and its folder if needed. A torn or corrupt tail left by a crash
+     * is cut off, so games appended later follow the last good record.
+     *
+     * @param file archive to append games to
+     * @throws IOException if the archive cannot be opened or is not an archive
+     */
+    public ReplayRecorder(Path file) throws IOException {
+        this.file = file;
+
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null)
+            Files.createDirectories(dir);
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {     // new, or torn while the header was written
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+            } else {
+                recover();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        // a daemon thread, since the shutdown hook writes whatever is left
+        writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "replay-writer");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        shutdownHook = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                close();
+            }
+        }, "replay-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Check every record of the archive by its length and checksum, and truncate the archive after
+     * the last one that checks out. Runs before the writer thread starts.
+     *
+     * @throws IOException if the archive cannot be read or is not an archive
+     */
+    private void recover() throws IOException {
+        long size = channel.size();
+        ByteBuffer buf = ByteBuffer.allocate(RECOVER_BUFFER);
+        buf.limit(0);
+
+        buf = fill(buf, 0, HEADER_SIZE);
+        if (buf == null || buf.getInt(0) != MAGIC)
+            throw new IOException(file + " is not a replay archive");
+        if (buf.getInt(4) != VERSION)
+            throw new IOException(file + " has unknown version " + buf.getInt(4));
+
+        buf.position(HEADER_SIZE);
+        long good = HEADER_SIZE;    // end of the last record that checks out, at buf's position
+
+        while (good + 4 <= size) {
+            buf = fill(buf, good, 4);
+            if (buf == null)
+                break;
+
+            int length = buf.getInt(buf.position());
+            if (length < 8 || good + 4 + length > size)     // too short for its index offset and checksum, or torn
+                break;
+
+            buf = fill(buf, good, 4 + length);
+            if (buf == null)
+                break;
+
+            int start = buf.position() + 4;
+            crc.reset();
+            crc.update(buf.array(), start, length - 4);
+            if (buf.getInt(start + length - 4) != (int)crc.getValue())
+                break;
+
+            buf.position(start + length);
+            good += 4 + length;
+        }
+
+        if (good != size) {
+            channel.truncate(good);
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Make sure a buffer holds at least some bytes of the archive after its position, reading more
+     * after those it holds and growing it if it is too small.
+     *
+     * @param buf buffer whose position holds the byte of the archive at position
+     * @param position offset in the archive of buf's position
+     * @param need bytes needed after buf's position
+     * @return buffer holding them from its position, or null if the archive ends first
+     * @throws IOException if the archive cannot be read
+     */
+    private ByteBuffer fill(ByteBuffer buf, long position, int need) throws IOException {
+        if (buf.remaining() >= need)
+            return buf;
+
+        if (buf.capacity() < need)
+            buf = ByteBuffer.allocate(Math.max(need, buf.capacity() * 2)).put(buf);
+        else
+            buf.compact();
+
+        long readEnd = position + buf.position();
+        while (buf.position() < need) {
+            int n = channel.read(buf, readEnd);
+            if (n < 0)
+                return null;
+            readEnd += n;
+        }
+
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Record an action of the current game, once the game has carried it out.
+     *
+     * @param game game being played
+     * @param kind REVEAL, CHORD, FLAG, QUESTION, or UNMARK
+     * @param index flat position of the cell acted on
+     * @param time System.nanoTime() when the action was taken
+     */
+    public void record(Game game, int kind, int index, long time) {
+        if (numEvents == 0) {
+            timestamp = System.currentTimeMillis();
+            lastTime = time;
+        }
+
+        int delta = index - lastIndex;
+        long zigzag = ((delta << 1) ^ (delta >> 31)) & 0xffffffffL;   // keeps small steps either way short
+        long micros = Math.max(0, time - lastTime) / 1000;
+        events.putVarint(zigzag << KIND_BITS | kind);
+        events.putVarint(micros);
+
+        lastIndex = index;
+        lastTime = time;
+        elapsed += micros;
+        numEvents++;
+
+        if (numEvents % KEYFRAME_INTERVAL == 0)
+            putKeyframe(game);
+    }
+
+    /**
+     * Snapshot the states of the game into the events and add it to the seek index.
+     *
+     * @param game game being played
+     */
+    private void putKeyframe(Game game) {
+        if (cleared.length != game.getNumStateWords()) {
+            cleared = new long[game.getNumStateWords()];
+            flagged = new long[cleared.length];
+            marked = new long[cleared.length];
+        }
+
+        game.copyStates(cleared, flagged, marked);
+        for (int w = 0; w < marked.length; w++)
+            marked[w] &= ~flagged[w];   // only question marks, since flags are marked too
+
+        keyframe.size = 0;
+        keyframe.putRuns(cleared, game.getNumSpaces());
+        keyframe.putRuns(flagged, game.getNumSpaces());
+        keyframe.putRuns(marked, game.getNumSpaces());
+
+        seekIndex.putLong(elapsed);
+        seekIndex.putInt(events.size);
+        numKeyframes++;
+
+        events.putVarint(keyframe.size);
+        events.putBytes(keyframe);
+        lastIndex = 0;  // the next action does not depend on those before
+    }
+
+    /**
+     * Finish the current game and queue it to be appended to the archive, then start a new one.
+     * Games ended before any cell was opened have no board and are dropped.
+     *
+     * @param game game that was played, with its mines still placed
+     * @param qMarks boolean representing whether or not question marks were allowed
+     * @param status GameEngine.WON, LOST, or PLAYING if the game was abandoned
+     */
+    public void finish(Game game, boolean qMarks, int status) {
+        if (numEvents > 0 && game.getNumSafeRemaining() < game.getNumSpaces() - game.getNumMines()) {
+            record.size = 0;
+            record.putInt(0);   // length, filled in below
+            record.putVarint(game.getHeight());
+            record.putVarint(game.getWidth());
+            record.putVarint(game.getNumMines());
+            record.put((qMarks ? QMARKS : 0) | (game.isSeeded() ? SEEDED : 0) | KEYFRAMES);
+            record.put(status);
+            record.putLong(timestamp);
+
+            if (game.isSeeded()) {
+                record.putVarint(game.getSeedIndex());
+                record.putLong(game.getSeed());
+            } else {
+                int last = -1;
+                for (int index = 0; index < game.getNumSpaces(); index++) {
+                    if (game.isMine(index)) {
+                        record.putVarint(index - last - 1);
+                        last = index;
+                    }
+                }
+            }
+
+            record.putVarint(numEvents);
+            record.putBytes(events);
+
+            int indexStart = record.size - 4;
+            record.putVarint(numKeyframes);
+            record.putBytes(seekIndex);
+            record.putInt(indexStart);
+
+            crc.reset();
+            crc.update(record.data, 4, record.size - 4);
+            record.putInt((int)crc.getValue());
+
+            ByteBuffer buf = ByteBuffer.wrap(Arrays.copyOf(record.data, record.size));
+            buf.putInt(0, record.size - 4);
+
+            if (!writer.isShutdown()) {
+                writer.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        write(buf);
+                    }
+                });
+            }
+        }
+
+        discard();
+    }
+
+    /**
+     * Drop the actions recorded since the last game was finished, so the next game starts empty.
+     */
+    public void discard() {
+        events.size = 0;
+        seekIndex.size = 0;
+        numEvents = 0;
+        numKeyframes = 0;
+        lastIndex = 0;
+        elapsed = 0;
+    }
+
+    /**
+     * Append a finished game to the archive. Runs only on the writer thread, or once the writer has
+     * stopped.
+     *
+     * @param buf encoded game
+     */
+    private void write(ByteBuffer buf) {
+        try {
+            long position = channel.size();
+            while (buf.hasRemaining())
+                position += channel.write(buf, position);
+        } catch (IOException e) {
+            e.printStackTrace();    // the game is lost, but play goes on
+        }
+    }
+
+    /**
+     * Wait until every finished game is in the archive.
+     */
+    public void flush() {
+        try {
+            // the writer runs tasks in order, so this runs after every game queued so far
+            writer.submit(new Runnable() {
+                @Override
+                public void run() {
+                    // nothing to do, the games are written by the tasks before this one
+                }
+            }).get();
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();    // display stack trace in case of error
+        }
+    }
+
+    /**
+     * Write any queued games, stop the writer thread, and close the archive. A game still being
+     * played is not written. Called by the shutdown hook when the program exits.
+     */
+    public synchronized void close() {
+        if (!channel.isOpen())
+            return;
+
+        writer.shutdown();
+
+        try {
+            writer.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS);
+            channel.close();
+        } catch (InterruptedException | IOException e) {
+            e.printStackTrace();    // display stack trace in case of error
+        }
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // already shutting down, which is how this was called
+        }
+    }
+
+    // accessor methods
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getNumEvents() {
+        return numEvents;
+    }
+}
\ No newline at end of file
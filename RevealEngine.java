@@ -0,0 +1,158 @@
+import java.util.Arrays;
+
+/**
+ * Opens spaces on the grid, spreading out from empty spaces without recursion. Works on any Grid,
+ * so a bounded Game and an EndlessGame open spaces the same way.
+ *
+ * Last update: 10/18/26
+ */
+
+public class RevealEngine {
+    private Grid grid;  // grid whose spaces are being opened
+    private int[] queue;    // work queue of indices, doubles as the batch of opened spaces
+    private int[] neighbors = new int[8];   // reused for the neighbors of each space
+    private int[] chordNeighbors = new int[8];  // neighbors of a chorded number, kept while spreading
+    private int count;  // number of spaces opened by the last action
+    private int mineIndex;  // first mine opened by the last action, or -1
+
+    /**
+     * Initialize the engine and allocate its work queue once.
+     *
+     * @param game game whose spaces are being opened
+     */
+    public RevealEngine(Game game) {
+        this(game, game.getNumSpaces());    // each space can be queued at most once
+    }
+
+    /**
+     * Initialize the engine around any grid.
+     *
+     * @param grid grid whose spaces are being opened
+     * @param capacity starting size of the work queue, which grows if a batch outgrows it
+     */
+    public RevealEngine(Grid grid, int capacity) {
+        this.grid = grid;
+        queue = new int[Math.max(capacity, 9)];
+    }
+
+    /**
+     * Open a space and, if it is empty, every connected empty space and its border.
+     *
+     * @param row vertical position of space
+     * @param col horizontal position of space
+     * @return number of spaces opened, which are held at the front of getRevealed()
+     */
+    public int reveal(int row, int col) {
+        count = 0;
+        mineIndex = -1;
+
+        spread(grid.getIndex(row, col));
+        return count;
+    }
+
+    /**
+     * Open every unmarked space around an opened number once enough flags surround it.
+     *
+     * @param row vertical position of opened number
+     * @param col horizontal position of opened number
+     * @return number of spaces opened, which are held at the front of getRevealed()
+     */
+    public int chord(int row, int col) {
+        int index = grid.getIndex(row, col);
+        int value = grid.getValue(index);
+
+        count = 0;
+        mineIndex = -1;
+
+        if (value <= 0 || !grid.isCleared(index))
+            return 0;
+
+        // count adjacent flags
+        int n = grid.getNeighbors(index, chordNeighbors);
+        int flags = 0;
+        for (int k = 0; k < n; k++) {
+            if (grid.isFlagged(chordNeighbors[k]))
+                flags++;
+        }
+
+        if (flags != value)
+            return 0;
+
+        // open each adjacent space, adding to the same batch
+        for (int k = 0; k < n; k++)
+            spread(chordNeighbors[k]);
+
+        return count;
+    }
+
+    /**
+     * Open a space and spread out from it, appending to the current batch.
+     * The cleared state of the grid serves as the visited set, so each space is queued at most once.
+     *
+     * @param start index of space
+     */
+    private void spread(int start) {
+        // ignore spaces that are already open or marked
+        if (grid.isCleared(start) || grid.isMarked(start))
+            return;
+
+        grid.setCleared(start, true);
+        push(start);
+
+        if (grid.isMine(start)) {   // mines never spread
+            if (mineIndex < 0)
+                mineIndex = start;
+
+            return;
+        }
+
+        // spread out from each empty space in the queue
+        for (int head = count - 1; head < count; head++) {
+            int index = queue[head];
+
+            if (grid.getValue(index) != 0)  // only empty spaces spread
+                continue;
+
+            // queue each adjacent space that is still unopened and unmarked
+            int n = grid.getNeighbors(index, neighbors);
+            for (int k = 0; k < n; k++) {
+                int adj = neighbors[k];
+
+                if (!grid.isCleared(adj) && !grid.isMarked(adj)) {
+                    grid.setCleared(adj, true);
+                    push(adj);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add an opened space to the batch, growing the queue if the grid has more spaces than it holds.
+     *
+     * @param index index of space
+     */
+    private void push(int index) {
+        if (count == queue.length)
+            queue = Arrays.copyOf(queue, queue.length * 2);
+
+        queue[count++] = index;
+    }
+
+    /**
+     * Get the spaces opened by the last action. Only the first getCount() entries are valid,
+     * and the array is reused by the next action.
+     *
+     * @return indices of opened spaces
+     */
+    public int[] getRevealed() {
+        return queue;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getMineIndex() {
+        return mineIndex;
+    }
+}
\ No newline at end of file
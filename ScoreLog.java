@@ -0,0 +1,417 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Stores every winning time as an append-only log of fixed-size binary records, so submitting a
+ * score writes one small record instead of rewriting every list. The log is folded into a snapshot
+ * once it is as long as the snapshot, so startup reads the snapshot and a short log tail, and the
+ * cost of compaction is spread evenly over the appends.
+ * Records carry a sequence number and a checksum: a record torn by a crash is dropped, and records
+ * already in the snapshot are skipped if a crash came between writing it and cutting back the log.
+ * The snapshot is only ever replaced whole, so one that fails its checks is reported rather than
+ * dropped, and both files are streamed through a fixed buffer however many records they hold.
+ *
+ * Last update: 10/18/26
+ */
+
+public class ScoreLog {
+    public static final int RECORD_SIZE = 48;   // bytes in each record
+    private static final int SNAPSHOT_MAGIC = 0x4d535353;   // "MSSS"
+    private static final int SNAPSHOT_VERSION = 2;  // records hold the board configuration
+    private static final int SNAPSHOT_HEADER = 20;  // magic, version, last sequence number, count
+    private static final int COPY_BUFFER = RECORD_SIZE << 14;   // bytes streamed at a time, whole records
+
+    private static final int COMPACT_THRESHOLD = 256;   // fewest records in the log before a snapshot is due
+
+    private Path logPath;
+    private Path snapshotPath;
+    private FileChannel log;
+    private long logSize;   // bytes of whole records in the log
+    private long snapshotCount;     // records in the snapshot
+    private boolean created;    // neither file existed before the log was opened
+
+    private long lastSeq;   // sequence number of the newest record
+    private int unsynced;   // records appended since the log was last forced
+
+    private ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);   // reused for each append, grown as needed
+    private CRC32 crc = new CRC32();
+
+    /**
+     * A score as stored in the log, with the board configuration it was attained on.
+     */
+    public static class Entry {
+        public final long seq;  // order the score was submitted in
+        public final int height;
+        public final int width;
+        public final int numMines;
+        public final boolean qMarks;
+        public final double time;
+        public final long timestamp;    // milliseconds since the epoch when it was submitted
+
+        public Entry(long seq, int height, int width, int numMines, boolean qMarks, double time, long timestamp) {
+            this.seq = seq;
+            this.height = height;
+            this.width = width;
+            this.numMines = numMines;
+            this.qMarks = qMarks;
+            this.time = time;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * Open the log in the default folder under the user's home.
+     *
+     * @throws IOException if the folder or log cannot be opened
+     */
+    public ScoreLog() throws IOException {
+        this(Paths.get(System.getProperty("user.home"), ".minesweeper"));
+    }
+
+    /**
+     * Open the log in a folder, creating the folder if needed.
+     *
+     * @param dir folder holding the log and snapshot
+     * @throws IOException if the folder or log cannot be opened
+     */
+    public ScoreLog(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        logPath = dir.resolve("leaderboard.log");
+        snapshotPath = dir.resolve("leaderboard.snapshot");
+        created = !Files.exists(logPath) && !Files.exists(snapshotPath);
+
+        log = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Read every stored score: those in the snapshot, then those in the log after it, a buffer at a
+     * time. A torn or corrupt tail of the log is cut off so later appends follow the last good record.
+     *
+     * @return stored scores in the order they were submitted
+     * @throws IOException if the files cannot be read
+     */
+    public List<Entry> load() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long snapshotSeq = readSnapshot(entries);
+        lastSeq = snapshotSeq;
+
+        ByteBuffer buf = ByteBuffer.allocate(COPY_BUFFER);
+        long whole = log.size() / RECORD_SIZE * RECORD_SIZE;    // a record torn at the end is never read
+
+        logSize = 0;
+        records:
+        while (logSize < whole) {
+            buf.clear();
+            buf.limit((int)Math.min(buf.capacity(), whole - logSize));
+            readFully(log, buf, logSize);
+            buf.flip();
+
+            while (buf.hasRemaining()) {
+                Entry e = decode(buf);
+                if (e == null)  // torn or corrupt, so nothing after it can be trusted
+                    break records;
+
+                logSize += RECORD_SIZE;
+                if (e.seq > snapshotSeq) {  // older records are already in the snapshot
+                    entries.add(e);
+                    lastSeq = e.seq;
+                }
+            }
+        }
+
+        if (log.size() != logSize) {
+            log.truncate(logSize);
+            log.force(false);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Append scores to the log in a single write. The records are not forced to disk until the
+     * caller calls sync(), so the caller decides how many records one crash can lose.
+     *
+     * @param entries scores to store, numbered after getLastSeq() in ascending order
+     * @throws IOException if the records cannot be written
+     */
+    public void append(List<Entry> entries) throws IOException {
+        if (entries.isEmpty())
+            return;
+
+        if (record.capacity() < entries.size() * RECORD_SIZE)
+            record = ByteBuffer.allocate(entries.size() * RECORD_SIZE);
+
+        record.clear();
+        for (Entry e : entries)
+            encode(e, record);
+        record.flip();
+
+        while (record.hasRemaining())
+            logSize += log.write(record, logSize);
+
+        lastSeq = entries.get(entries.size() - 1).seq;
+        unsynced += entries.size();
+    }
+
+    /**
+     * Force appended records to disk.
+     *
+     * @throws IOException if the log cannot be forced
+     */
+    public void sync() throws IOException {
+        if (unsynced == 0)
+            return;
+
+        log.force(false);
+        unsynced = 0;
+    }
+
+    /**
+     * Check whether the log has grown enough that a snapshot should replace it.
+     *
+     * @return true if compact() is due
+     */
+    public boolean isCompactionDue() {
+        return logSize >= Math.max(COMPACT_THRESHOLD, snapshotCount) * RECORD_SIZE;
+    }
+
+    /**
+     * Fold the log into a new snapshot, then empty the log. The snapshot replaces the old one in a
+     * single rename, so a crash at any point leaves a readable pair of files. Records are copied
+     * through a fixed buffer, so memory use does not grow with the number of scores.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void compact() throws IOException {
+        long count = snapshotCount + logSize / RECORD_SIZE;
+        if (count > Integer.MAX_VALUE)
+            throw new IOException("Too many scores for one snapshot");
+
+        ByteBuffer buf = ByteBuffer.allocate(COPY_BUFFER);
+        CRC32 sum = new CRC32();    // checksum of the whole snapshot, apart from its last four bytes
+
+        Path temp = snapshotPath.resolveSibling("leaderboard.snapshot.tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buf.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(lastSeq).putInt((int)count);
+            buf.flip();
+            write(out, buf, sum);
+
+            // records of the old snapshot, already checked when it was loaded
+            if (snapshotCount > 0) {
+                try (FileChannel in = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+                    copy(in, SNAPSHOT_HEADER, snapshotCount * RECORD_SIZE, out, buf, sum);
+                }
+            }
+
+            // records of the log, in the order they were appended
+            copy(log, 0, logSize, out, buf, sum);
+
+            buf.clear();
+            buf.putInt((int)sum.getValue());
+            buf.flip();
+            write(out, buf, null);
+            out.force(true);
+        }
+
+        Files.move(temp, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        snapshotCount = count;
+
+        // every record is now in the snapshot
+        log.truncate(0);
+        log.force(false);
+        logSize = 0;
+        unsynced = 0;
+    }
+
+    /**
+     * Copy a range of one file to the end of another, a buffer at a time.
+     *
+     * @param in file to read
+     * @param position byte of the file to start at
+     * @param length number of bytes to copy
+     * @param out file to write
+     * @param buf buffer to copy through
+     * @param sum checksum updated with every byte copied
+     * @throws IOException if the file ends early or either file cannot be used
+     */
+    private static void copy(FileChannel in, long position, long length, FileChannel out, ByteBuffer buf,
+            CRC32 sum) throws IOException {
+        long end = position + length;
+
+        while (position < end) {
+            buf.clear();
+            buf.limit((int)Math.min(buf.capacity(), end - position));
+            readFully(in, buf, position);
+            position += buf.position();
+
+            buf.flip();
+            write(out, buf, sum);
+        }
+    }
+
+    /**
+     * Fill a buffer from a file, up to the buffer's limit.
+     *
+     * @param in file to read
+     * @param buf buffer to read into at its position
+     * @param position byte of the file to start at
+     * @throws IOException if the file ends early or cannot be read
+     */
+    private static void readFully(FileChannel in, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = in.read(buf, position);
+            if (n < 0)
+                throw new IOException("File ended early");
+            position += n;
+        }
+    }
+
+    /**
+     * Write the rest of a buffer at the position of a file.
+     *
+     * @param out file to write
+     * @param buf buffer to write from its position
+     * @param sum checksum updated with the bytes written, or null
+     * @throws IOException if the file cannot be written
+     */
+    private static void write(FileChannel out, ByteBuffer buf, CRC32 sum) throws IOException {
+        if (sum != null)
+            sum.update(buf.array(), buf.position(), buf.remaining());
+
+        while (buf.hasRemaining())
+            out.write(buf);
+    }
+
+    /**
+     * Force any appended records to disk and close the log.
+     *
+     * @throws IOException if the log cannot be forced or closed
+     */
+    public void close() throws IOException {
+        sync();
+        log.close();
+    }
+
+    /**
+     * Read the snapshot, if there is one, a buffer at a time. A snapshot is only ever replaced whole,
+     * so one that fails any check has been damaged and is reported instead of being replaced.
+     *
+     * @param entries list to add the snapshot's scores to
+     * @return sequence number of the newest record in the snapshot, or 0 if there is none
+     * @throws IOException if the snapshot exists but is corrupt or cannot be read
+     */
+    private long readSnapshot(List<Entry> entries) throws IOException {
+        snapshotCount = 0;
+        if (!Files.exists(snapshotPath))
+            return 0;
+
+        try (FileChannel in = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size < SNAPSHOT_HEADER + 4)
+                throw new IOException(snapshotPath + " is truncated");
+
+            ByteBuffer buf = ByteBuffer.allocate(COPY_BUFFER);
+            CRC32 sum = new CRC32();    // checksum of the whole snapshot, apart from its last four bytes
+
+            buf.limit(SNAPSHOT_HEADER);
+            readFully(in, buf, 0);
+            buf.flip();
+            sum.update(buf.array(), 0, SNAPSHOT_HEADER);
+
+            if (buf.getInt() != SNAPSHOT_MAGIC || buf.getInt() != SNAPSHOT_VERSION)
+                throw new IOException(snapshotPath + " is not a score snapshot");
+
+            long seq = buf.getLong();
+            int count = buf.getInt();
+            long end = SNAPSHOT_HEADER + (long)count * RECORD_SIZE;
+            if (count < 0 || size != end + 4)
+                throw new IOException(snapshotPath + " does not hold the " + count + " scores it names");
+
+            // decode each buffer of records, which carry checksums of their own
+            for (long position = SNAPSHOT_HEADER; position < end; ) {
+                buf.clear();
+                buf.limit((int)Math.min(buf.capacity(), end - position));
+                readFully(in, buf, position);
+                position += buf.position();
+
+                buf.flip();
+                sum.update(buf.array(), 0, buf.limit());
+
+                while (buf.hasRemaining()) {
+                    Entry e = decode(buf);
+                    if (e == null)
+                        throw new IOException(snapshotPath + " holds a corrupt score");
+
+                    entries.add(e);
+                }
+            }
+
+            buf.clear();
+            buf.limit(4);
+            readFully(in, buf, end);
+            if (buf.getInt(0) != (int)sum.getValue())
+                throw new IOException(snapshotPath + " fails its checksum");
+
+            snapshotCount = count;
+            return seq;
+        }
+    }
+
+    /**
+     * Write a score as a record: sequence number, height, width, mines, flags, time, timestamp, four
+     * reserved bytes, then a checksum of the rest of the record.
+     *
+     * @param e score to write
+     * @param buf buffer to write into
+     */
+    private void encode(Entry e, ByteBuffer buf) {
+        int start = buf.position();
+        buf.putLong(e.seq).putInt(e.height).putInt(e.width).putInt(e.numMines).putInt(e.qMarks ? 1 : 0)
+                .putDouble(e.time).putLong(e.timestamp).putInt(0);
+
+        crc.reset();
+        crc.update(buf.array(), buf.arrayOffset() + start, RECORD_SIZE - 4);
+        buf.putInt((int)crc.getValue());
+    }
+
+    /**
+     * Read a record written by encode().
+     *
+     * @param buf buffer positioned at the record
+     * @return score, or null if the checksum does not match
+     */
+    private Entry decode(ByteBuffer buf) {
+        int start = buf.position();
+        Entry e = new Entry(buf.getLong(), buf.getInt(), buf.getInt(), buf.getInt(), (buf.getInt() & 1) != 0,
+                buf.getDouble(), buf.getLong());
+        buf.getInt();   // reserved
+
+        crc.reset();
+        crc.update(buf.array(), buf.arrayOffset() + start, RECORD_SIZE - 4);
+        if (buf.getInt() != (int)crc.getValue())
+            return null;
+
+        return e;
+    }
+
+    // accessor methods
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+}
\ No newline at end of file
@@ -1,216 +1,434 @@
-import java.io.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Tracks high scores for each difficulty.
+ * Tracks every winning time for each board configuration, so standard and custom games each have
+ * their own leaderboard. Submitting a score updates the leaderboard at once and queues the score
+ * for a single writer thread, which appends every queued score to a ScoreLog in one write, so the
+ * caller never waits on the disk. A shutdown hook writes anything still queued. The first time the
+ * log is created, the lists kept in HighScores.txt by earlier versions are copied into it.
  *
  * @author Jake Koontz
- * Last update: 8/5/17
+ * Last update: 10/18/26
  */
 
 public class Scores {
-    // arrays containing high scores for each difficulty
-    private double[] beginnerScores;
-    private double[] intermediateScores;
-    private double[] expertScores;
+    public static final int LIST_SIZE = 5;  // top five times are shown for each configuration
+    private static final long CLOSE_TIMEOUT = 5;    // longest seconds close() waits for queued scores
+    private static final String OLD_SCORES = "HighScores.txt";  // text lists kept by earlier versions
+
+    // sizes of the standard difficulties as height, width, mines, indexed by difficulty - 1
+    private static final int[][] STANDARD = {{9, 9, 10}, {16, 16, 40}, {16, 30, 99}};
+    private static final String[] TITLES = {"Beginner", "Intermediate", "Expert"};
+
+    private Map<Long, Leaderboard> boards;  // leaderboard of each configuration, by key()
+
+    private ScoreLog log;   // stores the scores, or null if it could not be opened
+    private long lastSeq;   // number of the newest score
+
+    // write-behind state
+    private ExecutorService writer;     // single thread doing every write to the log
+    private ConcurrentLinkedQueue<ScoreLog.Entry> queue = new ConcurrentLinkedQueue<>();    // scores not yet written
+    private AtomicBoolean flushScheduled = new AtomicBoolean();     // a flush of the queue is waiting to run
+    private Thread shutdownHook;
 
     /**
-     * Initialize fields.
+     * Initialize fields and read scores from the log under the user's home, importing the lists of
+     * earlier versions from the working directory.
      */
     public Scores() {
-        beginnerScores = new double[5];     // defaulted to top five times
-        intermediateScores = new double[5];
-        expertScores = new double[5];
+        boards = new HashMap<>();
+
+        try {
+            log = new ScoreLog();
+        } catch (IOException e) {
+            e.printStackTrace();    // display stack trace in case of error
+        }
 
-        readScores();   // read scores from file
+        readScores(Paths.get(OLD_SCORES));  // read scores from log
+        startWriter();
     }
 
     /**
-     * Read scores from file and fill arrays.
+     * Initialize fields and read scores from the log in a folder, importing the lists of earlier
+     * versions from the same folder.
+     *
+     * @param dir folder holding the log
+     * @throws IOException if the log cannot be opened
      */
-    private void readScores() {
-        // try to open file containing scores
-        try (BufferedReader br = new BufferedReader(new FileReader("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\HighScores.txt"))) {
-            String line = br.readLine();    // read first line in file
+    public Scores(Path dir) throws IOException {
+        boards = new HashMap<>();
+        log = new ScoreLog(dir);
 
-            int[] indices = new int[3];     // holds index of each array
-
-            // get scores for each difficulty
-            for (int i = 0; i < 3; i++) {
-                // read each line in file
-                while (line != null && line.length() > 0) {     // check that line is not empty
-                    // check which difficulty score is for
-                    if (i == 0) {
-                        beginnerScores[indices[i]] = Double.parseDouble(line);  // add score to array
-                        indices[i]++;   // increment correct index
-                    } else if (i == 1) {
-                        intermediateScores[indices[i]] = Double.parseDouble(line);
-                        indices[i]++;
-                    } else if (i == 2) {
-                        expertScores[indices[i]] = Double.parseDouble(line);
-                        indices[i]++;
-                    }
+        readScores(dir.resolve(OLD_SCORES));
+        startWriter();
+    }
 
-                    line = br.readLine();   // read next line in file
-                }
+    /**
+     * Rebuild the leaderboards by replaying every stored score. If they cannot be read, nothing is
+     * written this session, so the stored scores are left as they were found.
+     *
+     * @param oldScores text lists of earlier versions, imported only if the log was just created
+     */
+    private void readScores(Path oldScores) {
+        if (log == null)
+            return;
 
-                line = br.readLine();   // read gap line between difficulties
-            }
+        try {
+            for (ScoreLog.Entry e : log.load())
+                board(e.height, e.width, e.numMines, e.qMarks).add(e);
 
-            br.close();     // close buffered reader
+            lastSeq = log.getLastSeq();
         } catch (IOException e) {
             e.printStackTrace();    // display stack trace in case of error
+            boards.clear();
+
+            try {
+                log.close();
+            } catch (IOException ce) {
+                ce.printStackTrace();
+            }
+
+            log = null;     // keeps compaction from replacing the unread snapshot
+            return;
+        }
+
+        // import once, so the old times are never added twice
+        if (log.isCreated()) {
+            try {
+                importScores(oldScores);
+            } catch (IOException | NumberFormatException e) {
+                e.printStackTrace();    // play on without the old times
+            }
         }
     }
 
     /**
-     * Write scores to file.
+     * Copy the lists kept by earlier versions into the log: the times of beginner, intermediate,
+     * and expert, one per line, with a blank line after each difficulty.
+     *
+     * @param file text file holding the lists
+     * @throws IOException if the file cannot be read or the log written
      */
-    private void writeScores() {
-        // try to open file containing scores
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter("C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\HighScores.txt"))) {
-            // write scores for each difficulty
-            for (int i = 0; i < 3; i++) {
-                    int x = 0;  // sub-index to track each array
+    private void importScores(Path file) throws IOException {
+        if (!Files.isRegularFile(file))
+            return;
+
+        long timestamp = Files.getLastModifiedTime(file).toMillis();   // when the newest time was added
+        List<ScoreLog.Entry> entries = new ArrayList<>();
+        int difficulty = 0;     // index into STANDARD
+        long seq = lastSeq;
+
+        // read every time before writing any, so a damaged file imports nothing
+        for (String line : Files.readAllLines(file)) {
+            if (line.trim().isEmpty()) {    // gap line between difficulties
+                difficulty++;
+                continue;
+            }
 
-                    // check which difficulty score is for
-                    if (i == 0) {
-                        // check index and ensure it is an actual value
-                        while (x < beginnerScores.length && beginnerScores[x] != 0) {
-                            bw.write(beginnerScores[x] + "\n");     // write score to file
-                            x++;
-                        }
+            if (difficulty == STANDARD.length)
+                break;
 
-                        bw.newLine();   // write line to separate difficulties
-                    } else if (i == 1) {
-                        while (x < intermediateScores.length && intermediateScores[x] != 0) {
-                            bw.write(intermediateScores[x] + "\n");
-                            x++;
-                        }
+            int[] size = STANDARD[difficulty];
+            entries.add(new ScoreLog.Entry(++seq, size[0], size[1], size[2], false,
+                    Double.parseDouble(line.trim()), timestamp));
+        }
 
-                        bw.newLine();
-                    } else if (i == 2) {
-                        while (x < expertScores.length && expertScores[x] != 0) {
-                            bw.write(expertScores[x] + "\n");
-                            x++;
-                        }
-                    }
+        log.append(entries);
+        log.sync();
+        lastSeq = seq;
+
+        for (ScoreLog.Entry e : entries)
+            board(e.height, e.width, e.numMines, e.qMarks).add(e);
+    }
+
+    /**
+     * Start the writer thread and the hook that writes queued scores when the program exits.
+     */
+    private void startWriter() {
+        if (log == null)
+            return;
+
+        // a daemon thread, since the shutdown hook writes whatever is left
+        writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "score-writer");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        shutdownHook = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                close();
             }
+        }, "score-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Write every queued score to the log in one batch. Runs only on the writer thread, or once the
+     * writer has stopped.
+     */
+    private void writeQueued() {
+        flushScheduled.set(false);  // scores queued from here on schedule another flush
 
-            bw.flush();     // remove anything left in the buffer
-            bw.close();     // close buffered writer
+        List<ScoreLog.Entry> batch = new ArrayList<>();
+        for (ScoreLog.Entry e; (e = queue.poll()) != null; )
+            batch.add(e);
+
+        try {
+            log.append(batch);
+            log.sync();     // the batch is the unit of coalescing, so one crash loses at most one batch
+
+            if (log.isCompactionDue())
+                log.compact();  // fold the log into the snapshot once it grows long
         } catch (IOException e) {
-            e.printStackTrace();    // display stack trace in case of error
+            e.printStackTrace();    // scores are still kept for this session
         }
     }
 
     /**
-     * See if score made the list and needs to be added.
+     * Pack a board configuration into a single key.
+     *
+     * @param height number of rows
+     * @param width number of columns
+     * @param numMines number of mines
+     * @param qMarks boolean representing whether or not question marks are allowed
+     * @return key of the configuration
+     */
+    private static long key(int height, int width, int numMines, boolean qMarks) {
+        return (long)height << 48 | (long)width << 32 | (long)numMines << 1 | (qMarks ? 1 : 0);
+    }
+
+    /**
+     * Get the leaderboard of a configuration, creating an empty one if needed.
+     *
+     * @param height number of rows
+     * @param width number of columns
+     * @param numMines number of mines
+     * @param qMarks boolean representing whether or not question marks are allowed
+     * @return leaderboard of the configuration
+     */
+    private Leaderboard board(int height, int width, int numMines, boolean qMarks) {
+        return boards.computeIfAbsent(key(height, width, numMines, qMarks), k -> new Leaderboard());
+    }
+
+    /**
+     * Get the leaderboard of a configuration.
+     *
+     * @param height number of rows
+     * @param width number of columns
+     * @param numMines number of mines
+     * @param qMarks boolean representing whether or not question marks are allowed
+     * @return leaderboard of the configuration, empty if no game has been won on it
+     */
+    public Leaderboard getLeaderboard(int height, int width, int numMines, boolean qMarks) {
+        Leaderboard board = boards.get(key(height, width, numMines, qMarks));
+        return board != null ? board : new Leaderboard();
+    }
+
+    /**
+     * Record a winning time and see if it made the list.
+     *
+     * @param score score being recorded
+     * @param height number of rows
+     * @param width number of columns
+     * @param numMines number of mines
+     * @param qMarks boolean representing whether or not question marks were allowed
+     * @return boolean signifying whether or not score made the top LIST_SIZE
+     */
+    public boolean submitScore(double score, int height, int width, int numMines, boolean qMarks) {
+        Leaderboard board = board(height, width, numMines, qMarks);
+        ScoreLog.Entry e = new ScoreLog.Entry(++lastSeq, height, width, numMines, qMarks, score,
+                System.currentTimeMillis());
+
+        board.add(e);
+        boolean highScore = board.place(e) <= LIST_SIZE;   // ties go after earlier scores, as getScores() lists them
+
+        // queue the score, starting a flush unless one is already waiting to take it; close() stops
+        // the writer under the same lock, so a running writer always accepts the flush
+        synchronized (this) {
+            if (writer != null) {
+                queue.add(e);
+
+                if (flushScheduled.compareAndSet(false, true)) {
+                    writer.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            writeQueued();
+                        }
+                    });
+                }
+            }
+        }
+
+        return highScore;
+    }
+
+    /**
+     * See if score made the list of a standard difficulty and needs to be added.
      *
      * @param score score being tested
      * @param difficulty difficulty the score was attained on
      * @return boolean signifying whether or not score made the list
      */
     public boolean submitScore(double score, int difficulty) {
-        // check difficulty
-        if (difficulty == GameDriver.BEGINNER) {
-            // check each score in the list
-            for (int i = 0; i < beginnerScores.length; i++) {
-                // add score if it makes the list
-                if (beginnerScores[i] == 0 || score < beginnerScores[i]) {
-                    int start = i;  // holds index where score needs to be added
-
-                    // shift each score down one space in the list
-                    for (i = beginnerScores.length - 1; i > start; i--)
-                        beginnerScores[i] = beginnerScores[i - 1];
-
-                    beginnerScores[start] = score;  // add score to list
-
-                    writeScores();  // write score to list
-                    return true;
+        if (difficulty < GameDriver.BEGINNER || difficulty > GameDriver.EXPERT)
+            return false;   // return false if custom difficulty
+
+        int[] size = STANDARD[difficulty - 1];
+        return submitScore(score, size[0], size[1], size[2], false);
+    }
+
+    /**
+     * Wait until every score submitted so far is on disk.
+     */
+    public void flush() {
+        Future<?> done;
+
+        synchronized (this) {
+            if (writer == null)
+                return;
+
+            // the writer runs tasks in order, so this runs after any flush already waiting
+            done = writer.submit(new Runnable() {
+                @Override
+                public void run() {
+                    writeQueued();
                 }
-            }
-        } else if (difficulty == GameDriver.INTERMEDIATE) {
-            for (int i = 0; i < intermediateScores.length; i++) {
-                if (intermediateScores[i] == 0 || score < intermediateScores[i]) {
-                    int start = i;
+            });
+        }
 
-                    for (i = intermediateScores.length - 1; i > start; i--)
-                        intermediateScores[i] = intermediateScores[i - 1];
+        try {
+            done.get();
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();    // display stack trace in case of error
+        }
+    }
 
-                    intermediateScores[start] = score;
+    /**
+     * Write any queued scores, stop the writer thread, and close the log. Called by the shutdown
+     * hook when the program exits. Scores submitted afterwards are kept for this session only.
+     * If the writer is still busy after CLOSE_TIMEOUT, the log is left open for it to finish.
+     */
+    public synchronized void close() {
+        if (writer == null)
+            return;
 
-                    writeScores();
-                    return true;
-                }
-            }
-        } else if (difficulty == GameDriver.EXPERT) {
-            for (int i = 0; i < expertScores.length; i++) {
-                if (expertScores[i] == 0 || score < expertScores[i]) {
-                    int start = i;
+        writer.shutdown();
 
-                    for (i = expertScores.length - 1; i > start; i--)
-                        expertScores[i] = expertScores[i - 1];
+        try {
+            writer.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            e.printStackTrace();    // display stack trace in case of error
+        }
 
-                    expertScores[start] = score;
+        if (writer.isTerminated()) {
+            writeQueued();  // anything queued after the last flush started
 
-                    writeScores();
-                    return true;
-                }
+            try {
+                log.close();
+            } catch (IOException e) {
+                e.printStackTrace();    // display stack trace in case of error
             }
+
+            log = null;
+        } else {
+            System.err.println("Score writer still busy after " + CLOSE_TIMEOUT + " seconds, log left open");
+        }
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // already shutting down, which is how this was called
         }
 
-        return false;   // return false if custom difficulty or score did not make the list
+        writer = null;  // submitScore() queues nothing from here on
     }
 
     /**
-     * Obtain all scores for a respective difficulty.
+     * Obtain the best scores for a configuration.
      *
-     * @param difficulty difficulty for which the scores are needed
-     * @return String containing all scores at specified difficulty
+     * @param height number of rows
+     * @param width number of columns
+     * @param numMines number of mines
+     * @param qMarks boolean representing whether or not question marks are allowed
+     * @return String containing a title and the top LIST_SIZE scores, one per line
      */
-    public String getScores(int difficulty) {
+    public String getScores(int height, int width, int numMines, boolean qMarks) {
         StringBuilder sb = new StringBuilder();
+        int difficulty = getDifficulty(height, width, numMines);
 
-        if (difficulty == GameDriver.BEGINNER) {
-            sb.append("Beginner:\n");
+        // name standard difficulties, and give the size of any other
+        if (difficulty > 0)
+            sb.append(TITLES[difficulty - 1]);
+        else
+            sb.append("Custom ").append(height).append("x").append(width).append(", ").append(numMines).append(" mines");
 
-            // add each score to string
-            for (double score : beginnerScores) {
-                // check that spot is not empty
-                if (score == 0)
-                    break;
+        if (qMarks)
+            sb.append(" (?)");
+        sb.append(":\n");
 
-                sb.append("     ");
-                sb.append(score);
-                sb.append("\n");
-            }
-        } else if (difficulty == GameDriver.INTERMEDIATE) {
-            sb.append("Intermediate:\n");
+        List<ScoreLog.Entry> top = getLeaderboard(height, width, numMines, qMarks).top(LIST_SIZE);
 
-            for (double score : intermediateScores) {
-                if (score == 0)
-                    break;
+        // add each score to string
+        for (int i = 0; i < top.size(); i++) {
+            sb.append("     ");
+            sb.append(top.get(i).time);
 
-                sb.append("     ");
-                sb.append(score);
+            // add new line for each score but the last of a full expert list
+            if (difficulty != GameDriver.EXPERT || i != LIST_SIZE - 1)
                 sb.append("\n");
-            }
-        } else if (difficulty == GameDriver.EXPERT) {
-            sb.append("Expert:\n");
+        }
 
-            for (int i = 0; i < expertScores.length; i++) {
-                if (expertScores[i] == 0)
-                    break;
+        return sb.toString();
+    }
 
-                sb.append("     ");
-                sb.append(expertScores[i]);
+    /**
+     * Obtain all scores for a respective difficulty.
+     *
+     * @param difficulty difficulty for which the scores are needed
+     * @return String containing all scores at specified difficulty
+     */
+    public String getScores(int difficulty) {
+        if (difficulty < GameDriver.BEGINNER || difficulty > GameDriver.EXPERT)
+            return "";
 
-                // add new line for each score but last
-                if (i != expertScores.length - 1)
-                    sb.append("\n");
-            }
+        int[] size = STANDARD[difficulty - 1];
+        return getScores(size[0], size[1], size[2], false);
+    }
+
+    /**
+     * Find the standard difficulty a configuration matches.
+     *
+     * @param height number of rows
+     * @param width number of columns
+     * @param numMines number of mines
+     * @return BEGINNER, INTERMEDIATE, or EXPERT, or 0 for a custom configuration
+     */
+    public static int getDifficulty(int height, int width, int numMines) {
+        for (int i = 0; i < STANDARD.length; i++) {
+            if (STANDARD[i][0] == height && STANDARD[i][1] == width && STANDARD[i][2] == numMines)
+                return i + 1;
         }
 
-        return sb.toString();
+        return 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,527 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays many games headlessly with a bot strategy and reports the win rate with a confidence
+ * interval. Games are spread across a thread pool, each thread with its own game, engine, and
+ * strategy. The result of each game can be streamed to a CSV or binary file.
+ *
+ * Usage: java Simulation [-height rows] [-width columns] [-mines count] [-games count]
+ *        [-threads count] [-strategy solver|first-safe|random] [-seed seed] [-csv file] [-bin file]
+ *        [-guessLimit milliseconds]
+ *
+ * With -guessLimit, the solver strategy enumerates large frontiers on the common ForkJoin pool and
+ * cancels any guess that takes longer, opening the first space not known to be a mine instead.
+ *
+ * Each binary record is 33 bytes, big-endian: game number (long), seed (long), won (byte),
+ * clicks (int), guesses (int), and nanoseconds taken (long).
+ *
+ * Last update: 10/18/26
+ */
+
+public class Simulation {
+    public static final int RECORD_SIZE = 33;  // bytes in each binary record
+    private static final int BATCH_SIZE = 256;  // games a thread claims at once
+    private static final int BUFFER_SIZE = 1 << 16;     // bytes of results a thread holds before writing
+    private static final double Z = 1.959964;   // normal quantile for a 95% confidence interval
+    private static final String USAGE = "Usage: java Simulation [-height rows] [-width columns] [-mines count]"
+            + " [-games count]\n       [-threads count] [-strategy solver|first-safe|random] [-seed seed]"
+            + " [-csv file] [-bin file]\n       [-guessLimit milliseconds]";
+
+    private int height = 16;
+    private int width = 30;
+    private int numMines = 99;
+    private long numGames = 10000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private String strategy = "solver";
+    private long seed = System.nanoTime();
+    private String outFile;     // file per-game results are written to, or null to keep only totals
+    private FileChannel out;    // destination of per-game results, or null to keep only totals
+    private boolean binary;     // results are binary records rather than CSV
+    private long guessLimit;    // milliseconds a guess may take before it is cancelled, or 0 for no limit
+    private ScheduledExecutorService timer;     // cancels guesses over the limit, or null for no limit
+
+    private AtomicLong nextGame = new AtomicLong();     // first game of the next unclaimed batch
+
+    /**
+     * Chooses the moves of a bot. Each thread has its own instance, reused from game to game.
+     */
+    public interface Strategy {
+        /**
+         * Forget the previous game, before the first click of the next.
+         */
+        void reset();
+
+        /**
+         * Choose the next space to open.
+         *
+         * @param last outcome of the previous move
+         * @return flat position of an unopened space
+         */
+        int nextMove(MoveResult last);
+
+        /**
+         * Check whether the last move chosen might have been a mine, as far as the strategy knew.
+         *
+         * @return true if the last move was a guess
+         */
+        boolean isGuess();
+    }
+
+    /**
+     * Totals of the games played by one thread.
+     */
+    private static class Totals {
+        long games;
+        long wins;
+        long clicks;
+        long guesses;
+        long nanos;
+    }
+
+    /**
+     * Run the simulation.
+     *
+     * @param args options described in the class comment
+     * @throws Exception if the result file cannot be written or a thread fails
+     */
+    public static void main(String[] args) throws Exception {
+        Simulation sim = new Simulation();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length)
+                usage("Option " + args[i] + " needs a value");
+
+            try {
+                switch (args[i]) {
+                    case "-height":
+                        sim.height = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "-width":
+                        sim.width = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "-mines":
+                        sim.numMines = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "-games":
+                        sim.numGames = Long.parseLong(args[i + 1]);
+                        break;
+                    case "-threads":
+                        sim.threads = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "-strategy":
+                        sim.strategy = args[i + 1];
+                        break;
+                    case "-seed":
+                        sim.seed = Long.parseLong(args[i + 1]);
+                        break;
+                    case "-csv":
+                    case "-bin":
+                        sim.binary = args[i].equals("-bin");
+                        sim.outFile = args[i + 1];
+                        break;
+                    case "-guessLimit":
+                        sim.guessLimit = Long.parseLong(args[i + 1]);
+                        break;
+                    default:
+                        usage("Unknown option " + args[i]);
+                }
+            } catch (NumberFormatException e) {
+                usage("Option " + args[i] + " needs a number, not " + args[i + 1]);
+            }
+        }
+
+        // with no games the win rate and its interval are undefined
+        if (sim.numGames < 1)
+            usage("-games must be at least 1");
+        if (sim.threads < 1)
+            usage("-threads must be at least 1");
+        if (sim.guessLimit < 0)
+            usage("-guessLimit must not be negative");
+
+        try {
+            newStrategy(sim.strategy, new Game(sim.height, sim.width, sim.numMines), null);     // reject unknown names early
+        } catch (IllegalArgumentException e) {
+            usage(e.getMessage());
+        }
+
+        // open the result file only once the options are known to be good
+        if (sim.outFile != null)
+            sim.out = FileChannel.open(Paths.get(sim.outFile), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        if (sim.out != null && !sim.binary)
+            sim.out.write(ByteBuffer.wrap("game,seed,won,clicks,guesses,nanos\n".getBytes()));
+
+        if (sim.guessLimit > 0)
+            sim.timer = Executors.newSingleThreadScheduledExecutor();
+
+        long start = System.nanoTime();
+        Totals totals = sim.run();
+        long elapsed = System.nanoTime() - start;
+
+        if (sim.out != null)
+            sim.out.close();
+        if (sim.timer != null)
+            sim.timer.shutdownNow();
+
+        sim.report(totals, elapsed);
+    }
+
+    /**
+     * Print a problem with the options and how to give them, then exit.
+     *
+     * @param message problem with the options
+     */
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    /**
+     * Create a strategy by name.
+     *
+     * @param name solver, first-safe, or random
+     * @param game game the strategy plays
+     * @param random source of random moves for the strategy
+     * @return new strategy
+     */
+    public static Strategy newStrategy(String name, Game game, SplittableRandom random) {
+        return newStrategy(name, game, random, null, 0);
+    }
+
+    /**
+     * Create a strategy by name, with a time limit on the guesses of the solver strategy.
+     *
+     * @param name solver, first-safe, or random
+     * @param game game the strategy plays
+     * @param random source of random moves for the strategy
+     * @param timer thread that cancels guesses over the limit, or null for no limit
+     * @param guessLimit milliseconds a guess may take
+     * @return new strategy
+     */
+    private static Strategy newStrategy(String name, Game game, SplittableRandom random,
+            ScheduledExecutorService timer, long guessLimit) {
+        switch (name) {
+            case "solver":
+                return new SolverStrategy(game, true, timer, guessLimit);
+            case "first-safe":
+                return new SolverStrategy(game, false, null, 0);
+            case "random":
+                return new RandomStrategy(game, random);
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + name);
+        }
+    }
+
+    /**
+     * Play every game across the thread pool.
+     *
+     * @return totals of every game
+     * @throws Exception if a thread fails
+     */
+    private Totals run() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        SplittableRandom random = new SplittableRandom(seed);
+        Future<?>[] futures = new Future<?>[threads];
+        Totals[] parts = new Totals[threads];
+
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom threadRandom = random.split();     // independent stream for each thread
+            Totals part = parts[t] = new Totals();
+
+            futures[t] = pool.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    play(threadRandom, part);
+                    return null;
+                }
+            });
+        }
+
+        Totals totals = new Totals();
+        for (int t = 0; t < threads; t++) {
+            futures[t].get();   // rethrows anything the thread threw
+
+            totals.games += parts[t].games;
+            totals.wins += parts[t].wins;
+            totals.clicks += parts[t].clicks;
+            totals.guesses += parts[t].guesses;
+            totals.nanos += parts[t].nanos;
+        }
+
+        pool.shutdown();
+        return totals;
+    }
+
+    /**
+     * Claim batches of games and play them until none are left.
+     *
+     * @param random source of seeds and random moves for this thread
+     * @param totals totals to add each game to
+     * @throws IOException if results cannot be written
+     */
+    private void play(SplittableRandom random, Totals totals) throws IOException {
+        Game game = new Game(height, width, numMines);
+        GameEngine engine = new GameEngine(game, false, random.split());
+        Strategy bot = newStrategy(strategy, game, random.split(), timer, guessLimit);
+        ByteBuffer buffer = out == null ? null : ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        long first;
+        while ((first = nextGame.getAndAdd(BATCH_SIZE)) < numGames) {
+            long last = Math.min(first + BATCH_SIZE, numGames);
+
+            for (long n = first; n < last; n++) {
+                long start = System.nanoTime();
+                engine.newGame();
+                bot.reset();
+
+                // first click in the middle, which is always safe
+                MoveResult result = engine.reveal(height / 2, width / 2);
+                int clicks = 1;
+                int guesses = 0;
+
+                while (!result.isGameOver()) {
+                    int index = bot.nextMove(result);
+                    if (bot.isGuess())
+                        guesses++;
+
+                    result = engine.reveal(index / width, index % width);
+                    clicks++;
+                }
+
+                long nanos = System.nanoTime() - start;
+                boolean won = engine.getStatus() == GameEngine.WON;
+
+                totals.games++;
+                totals.wins += won ? 1 : 0;
+                totals.clicks += clicks;
+                totals.guesses += guesses;
+                totals.nanos += nanos;
+
+                if (buffer != null) {
+                    if (buffer.remaining() < 128)   // longer than any record
+                        flush(buffer);
+
+                    if (binary) {
+                        buffer.putLong(n).putLong(game.getSeed()).put((byte)(won ? 1 : 0)).putInt(clicks)
+                                .putInt(guesses).putLong(nanos);
+                    } else {
+                        putNumber(buffer, n, ',');
+                        putNumber(buffer, game.getSeed(), ',');
+                        putNumber(buffer, won ? 1 : 0, ',');
+                        putNumber(buffer, clicks, ',');
+                        putNumber(buffer, guesses, ',');
+                        putNumber(buffer, nanos, '\n');
+                    }
+                }
+            }
+        }
+
+        if (buffer != null)
+            flush(buffer);
+    }
+
+    /**
+     * Write a thread's buffered results to the file in one piece.
+     *
+     * @param buffer results of one thread
+     * @throws IOException if the file cannot be written
+     */
+    private void flush(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+
+        synchronized (out) {    // keep records from different threads whole
+            while (buffer.hasRemaining())
+                out.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    /**
+     * Append a number as text without creating a String.
+     *
+     * @param buffer buffer to append to
+     * @param value number to append
+     * @param end character after the number
+     */
+    private static void putNumber(ByteBuffer buffer, long value, char end) {
+        if (value < 0) {
+            buffer.put((byte)'-');
+
+            if (value == Long.MIN_VALUE) {  // has no positive counterpart
+                putNumber(buffer, -(value / 10), (char)('0' - value % 10));
+                buffer.put((byte)end);
+                return;
+            }
+
+            value = -value;
+        }
+
+        int start = buffer.position();
+        do {
+            buffer.put((byte)('0' + value % 10));
+            value /= 10;
+        } while (value > 0);
+
+        // digits went in backwards
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte b = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, b);
+        }
+
+        buffer.put((byte)end);
+    }
+
+    /**
+     * Print the win rate with its Wilson score interval, and the speed of the simulation.
+     *
+     * @param totals totals of every game
+     * @param elapsed nanoseconds the simulation took
+     */
+    private void report(Totals totals, long elapsed) {
+        double n = totals.games;
+        double p = totals.wins / n;
+        double center = (p + Z * Z / (2 * n)) / (1 + Z * Z / n);
+        double margin = Z / (1 + Z * Z / n) * Math.sqrt(p * (1 - p) / n + Z * Z / (4 * n * n));
+
+        System.out.printf(Locale.ROOT, "%dx%d with %d mines, %s strategy, %d threads%n", height, width,
+                numMines, strategy, threads);
+        System.out.printf(Locale.ROOT, "games      %d%n", totals.games);
+        System.out.printf(Locale.ROOT, "wins       %d%n", totals.wins);
+        System.out.printf(Locale.ROOT, "win rate   %.4f (95%% CI %.4f to %.4f)%n", p, center - margin,
+                center + margin);
+        System.out.printf(Locale.ROOT, "clicks     %.2f per game%n", totals.clicks / n);
+        System.out.printf(Locale.ROOT, "guesses    %.2f per game%n", totals.guesses / n);
+        System.out.printf(Locale.ROOT, "time       %.1f us per game%n", totals.nanos / n / 1000);
+        System.out.printf(Locale.ROOT, "throughput %.0f games/s, %.2f million games/hour%n",
+                n * 1e9 / elapsed, n * 3600 / elapsed * 1000);
+    }
+
+    /**
+     * Plays every certain move from a Solver, then when stuck opens either the space least likely
+     * to be a mine or simply the first unopened space not known to be one.
+     */
+    private static class SolverStrategy implements Strategy {
+        private Game game;
+        private Solver solver;
+        private ProbabilityEngine probabilities;    // used for guesses, or null to open the first space
+        private ScheduledExecutorService timer;     // cancels guesses over the limit, or null for no limit
+        private long guessLimit;    // milliseconds a guess may take
+        private boolean guess;
+        private int scan;   // spaces before this are all opened or known mines
+
+        SolverStrategy(Game game, boolean useProbabilities, ScheduledExecutorService timer, long guessLimit) {
+            this.game = game;
+            this.timer = timer;
+            this.guessLimit = guessLimit;
+            solver = new Solver(game);
+
+            // each thread plays its own games, so calculations stay on the calling thread unless
+            // they are timed, when large frontiers are shared out to finish within the limit
+            if (useProbabilities)
+                probabilities = new ProbabilityEngine(game, timer != null ? ForkJoinPool.commonPool() : null);
+        }
+
+        @Override
+        public void reset() {
+            solver.reset();
+            scan = 0;
+        }
+
+        @Override
+        public int nextMove(MoveResult last) {
+            solver.update(last.getChanged(), last.getCount());
+            solver.solve();
+
+            int index = solver.nextSafe();
+            guess = index < 0;
+            if (!guess)
+                return index;
+
+            if (probabilities != null && timer == null) {
+                probabilities.calculate(solver);
+                return probabilities.getSafestSpace();
+            }
+
+            if (probabilities != null) {
+                long ticket = probabilities.getTicket();
+                ScheduledFuture<?> timeout = timer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        probabilities.cancel(ticket);
+                    }
+                }, guessLimit, TimeUnit.MILLISECONDS);
+
+                try {
+                    probabilities.calculate(solver, ticket);
+                    return probabilities.getSafestSpace();
+                } catch (CancellationException e) {
+                    // took too long, so open the first space not known to be a mine
+                } finally {
+                    timeout.cancel(false);
+                }
+            }
+
+            while (game.isCleared(scan) || solver.isKnownMine(scan))
+                scan++;
+
+            return scan;
+        }
+
+        @Override
+        public boolean isGuess() {
+            return guess;
+        }
+    }
+
+    /**
+     * Opens unopened spaces at random, as a baseline for the other strategies.
+     */
+    private static class RandomStrategy implements Strategy {
+        private Game game;
+        private SplittableRandom random;
+
+        RandomStrategy(Game game, SplittableRandom random) {
+            this.game = game;
+            this.random = random;
+        }
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public int nextMove(MoveResult last) {
+            int index;
+            do {
+                index = random.nextInt(game.getNumSpaces());
+            } while (game.isCleared(index));
+
+            return index;
+        }
+
+        @Override
+        public boolean isGuess() {
+            return true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,383 @@
+import java.util.Arrays;
+
+/**
+ * Finds spaces that are certainly safe or certainly mines from the visible state of a game.
+ * Only opened numbers are read, never hidden values. Work is driven by a queue of numbers whose
+ * surroundings changed, so each step costs time in proportion to what just changed.
+ *
+ * Last update: 10/18/26
+ */
+
+public class Solver {
+    private Game game;  // game being solved
+    private int height;
+    private int width;
+
+    // deductions so far
+    private long[] knownMine;
+    private long[] knownSafe;
+    private int[] safe;     // certainly-safe spaces in the order found
+    private int safeCount;
+    private int safeHead;   // next safe space handed out by nextSafe()
+    private int[] mines;    // certainly-mine spaces in the order found
+    private int mineCount;
+
+    // queue of opened numbers to examine
+    private long[] queued;
+    private int[] queue;
+    private int head;
+    private int size;
+
+    // scratch lists of unknown neighbors
+    private int[] unknownA;
+    private int[] unknownB;
+
+    /**
+     * Initialize the solver and allocate its working space once.
+     *
+     * @param game game being solved
+     */
+    public Solver(Game game) {
+        this.game = game;
+        height = game.getHeight();
+        width = game.getWidth();
+
+        int n = game.getNumSpaces();
+        int words = (n + 63) >>> 6;
+
+        knownMine = new long[words];
+        knownSafe = new long[words];
+        queued = new long[words];
+        safe = new int[n];
+        mines = new int[n];
+        queue = new int[n];
+        unknownA = new int[8];
+        unknownB = new int[8];
+    }
+
+    /**
+     * Forget every deduction, for a new game on the same board.
+     */
+    public void reset() {
+        Arrays.fill(knownMine, 0L);
+        Arrays.fill(knownSafe, 0L);
+        Arrays.fill(queued, 0L);
+        safeCount = 0;
+        safeHead = 0;
+        mineCount = 0;
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Queue every opened number on the board, for a solver joining a game in progress.
+     */
+    public void updateAll() {
+        for (int index = 0; index < game.getNumSpaces(); index++) {
+            if (game.isCleared(index))
+                enqueue(index);
+        }
+    }
+
+    /**
+     * Queue the numbers affected by newly opened spaces, such as the batch in a MoveResult.
+     *
+     * @param changed flat indices of opened spaces
+     * @param count number of valid entries in changed
+     */
+    public void update(int[] changed, int count) {
+        for (int k = 0; k < count; k++) {
+            enqueue(changed[k]);
+            enqueueAround(changed[k]);
+        }
+    }
+
+    /**
+     * Examine queued numbers until no more deductions follow.
+     *
+     * @return number of new deductions
+     */
+    public int solve() {
+        int before = safeCount + mineCount;
+
+        while (size > 0) {
+            int index = queue[head];
+            head = head + 1 == queue.length ? 0 : head + 1;
+            size--;
+            queued[index >>> 6] &= ~(1L << index);
+
+            examine(index);
+        }
+
+        return safeCount + mineCount - before;
+    }
+
+    /**
+     * Apply the single-number and shared-neighbor rules to one opened number.
+     *
+     * @param c flat position of number
+     */
+    private void examine(int c) {
+        if (!game.isCleared(c) || game.getValue(c) <= 0)
+            return;
+
+        int nu = unknowns(c, unknownA);
+        if (nu == 0)
+            return;
+
+        int rem = game.getValue(c) - minesAround(c);
+
+        // every unknown neighbor is safe, or every one is a mine
+        if (rem == 0) {
+            for (int k = 0; k < nu; k++)
+                markSafe(unknownA[k]);
+            return;
+        }
+        if (rem == nu) {
+            for (int k = 0; k < nu; k++)
+                markMine(unknownA[k]);
+            return;
+        }
+
+        int r = c / width;
+        int col = c - r * width;
+
+        // compare with each number close enough to share unknown neighbors
+        for (int i = Math.max(r - 2, 0); i <= Math.min(r + 2, height - 1); i++) {
+            for (int j = Math.max(col - 2, 0); j <= Math.min(col + 2, width - 1); j++) {
+                int d = i * width + j;
+
+                if (d == c || !game.isCleared(d) || game.getValue(d) <= 0)
+                    continue;
+
+                int nd = unknowns(d, unknownB);
+                int shared = countShared(unknownA, nu, unknownB, nd);
+                if (shared == 0)
+                    continue;
+
+                int remD = game.getValue(d) - minesAround(d);
+
+                // bounds on mines among the shared spaces, as seen from the other number
+                int maxShared = Math.min(remD, shared);
+                int minShared = Math.max(0, remD - (nd - shared));
+                int onlyC = nu - shared;
+
+                if (onlyC == 0)
+                    continue;
+
+                if (rem - maxShared == onlyC) {     // the rest of this number's mines must lie outside
+                    markOutside(unknownA, nu, unknownB, nd, true);
+                    return;
+                }
+                if (rem <= minShared) {     // the shared spaces already hold all of this number's mines
+                    markOutside(unknownA, nu, unknownB, nd, false);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * List the neighbors of a number that are unopened and not yet deduced, in ascending order.
+     *
+     * @param c flat position of number
+     * @param out array to fill
+     * @return number of entries filled
+     */
+    private int unknowns(int c, int[] out) {
+        int r = c / width;
+        int col = c - r * width;
+        int n = 0;
+
+        for (int i = Math.max(r - 1, 0); i <= Math.min(r + 1, height - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, width - 1); j++) {
+                int adj = i * width + j;
+
+                if (!game.isCleared(adj) && !isSet(knownMine, adj) && !isSet(knownSafe, adj))
+                    out[n++] = adj;
+            }
+        }
+
+        return n;
+    }
+
+    /**
+     * Count the neighbors of a space already deduced to be mines.
+     *
+     * @param c flat position of space
+     * @return number of known mines around it
+     */
+    private int minesAround(int c) {
+        int r = c / width;
+        int col = c - r * width;
+        int n = 0;
+
+        for (int i = Math.max(r - 1, 0); i <= Math.min(r + 1, height - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, width - 1); j++) {
+                if (isSet(knownMine, i * width + j))
+                    n++;
+            }
+        }
+
+        return n;
+    }
+
+    /**
+     * Count entries in both of two ascending lists.
+     *
+     * @param a first list
+     * @param na number of valid entries in a
+     * @param b second list
+     * @param nb number of valid entries in b
+     * @return number of shared entries
+     */
+    private static int countShared(int[] a, int na, int[] b, int nb) {
+        int shared = 0;
+
+        for (int i = 0, j = 0; i < na && j < nb; ) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j])
+                i++;
+            else
+                j++;
+        }
+
+        return shared;
+    }
+
+    /**
+     * Mark every entry of the first ascending list that is not in the second.
+     *
+     * @param a first list
+     * @param na number of valid entries in a
+     * @param b second list
+     * @param nb number of valid entries in b
+     * @param mine true to mark mines, false to mark safe spaces
+     */
+    private void markOutside(int[] a, int na, int[] b, int nb, boolean mine) {
+        for (int i = 0, j = 0; i < na; i++) {
+            while (j < nb && b[j] < a[i])
+                j++;
+
+            if (j < nb && b[j] == a[i])
+                continue;
+
+            if (mine)
+                markMine(a[i]);
+            else
+                markSafe(a[i]);
+        }
+    }
+
+    /**
+     * Record a certainly-safe space and requeue the numbers around it.
+     *
+     * @param index flat position of space
+     */
+    private void markSafe(int index) {
+        if (isSet(knownSafe, index) || isSet(knownMine, index))
+            return;
+
+        knownSafe[index >>> 6] |= 1L << index;
+        safe[safeCount++] = index;
+        enqueueAround(index);
+    }
+
+    /**
+     * Record a certainly-mine space and requeue the numbers around it.
+     *
+     * @param index flat position of space
+     */
+    private void markMine(int index) {
+        if (isSet(knownSafe, index) || isSet(knownMine, index))
+            return;
+
+        knownMine[index >>> 6] |= 1L << index;
+        mines[mineCount++] = index;
+        enqueueAround(index);
+    }
+
+    /**
+     * Queue each opened neighbor of a space.
+     *
+     * @param index flat position of space
+     */
+    private void enqueueAround(int index) {
+        int r = index / width;
+        int col = index - r * width;
+
+        for (int i = Math.max(r - 1, 0); i <= Math.min(r + 1, height - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, width - 1); j++) {
+                int adj = i * width + j;
+
+                if (adj != index && game.isCleared(adj))
+                    enqueue(adj);
+            }
+        }
+    }
+
+    /**
+     * Queue an opened number unless it is already waiting.
+     *
+     * @param index flat position of number
+     */
+    private void enqueue(int index) {
+        if (isSet(queued, index) || !game.isCleared(index) || game.getValue(index) <= 0)
+            return;
+
+        queued[index >>> 6] |= 1L << index;
+
+        int tail = head + size;
+        queue[tail >= queue.length ? tail - queue.length : tail] = index;
+        size++;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Hand out the next certainly-safe space that is still unopened.
+     *
+     * @return flat position of space, or -1 if none is known
+     */
+    public int nextSafe() {
+        while (safeHead < safeCount) {
+            int index = safe[safeHead++];
+
+            if (!game.isCleared(index))
+                return index;
+        }
+
+        return -1;
+    }
+
+    // accessor methods
+
+    public boolean isKnownMine(int index) {
+        return isSet(knownMine, index);
+    }
+
+    public boolean isKnownSafe(int index) {
+        return isSet(knownSafe, index);
+    }
+
+    public int[] getSafe() {
+        return safe;
+    }
+
+    public int getSafeCount() {
+        return safeCount;
+    }
+
+    public int[] getMines() {
+        return mines;
+    }
+
+    public int getMineCount() {
+        return mineCount;
+    }
+}
\ No newline at end of file
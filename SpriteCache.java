@@ -0,0 +1,107 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Loads every image once and shares the pre-rendered tiles and face icons across all games.
+ *
+ * Last update: 10/18/26
+ */
+
+public class SpriteCache {
+    // indices of each tile, after the numbered tiles 0 through 8
+    public static final int UNOPENED = 9;
+    public static final int FLAG = 10;
+    public static final int QMARK = 11;
+    public static final int MINE = 12;
+    public static final int CLICKED_MINE = 13;
+    public static final int WRONG_MINE = 14;
+    public static final int NUM_TILES = 15;
+
+    // indices of each face on the new game button
+    public static final int SMILE_FACE = 0;
+    public static final int WINNER_FACE = 1;
+    public static final int DEAD_FACE = 2;
+    public static final int CLICKED_FACE = 3;
+
+    // constants to hold size properties
+    public static final int CELL_SIZE = 24;     // side length of cell
+    public static final int FACE_SIZE = 40;     // side length of face
+
+    private static final String IMAGE_DIR = "C:\\Users\\Jake\\IdeaProjects\\Side Projects\\Minesweeper\\src\\";
+
+    // files for each tile and face, in index order
+    private static final String[] TILE_FILES = {"0.png", "1.png", "2.png", "3.png", "4.png", "5.png", "6.png",
+            "7.png", "8.png", "Unopened.png", "Flag.png", "Question Mark.png", "Bomb.jpg", "ClickedBomb.jpg",
+            "WrongBomb.png"};
+    private static final String[] FACE_FILES = {"Smile.jpg", "Winner.jpg", "Dead.jpg", "Gasp.jpg"};
+
+    private static SpriteCache instance;    // cache shared by every game
+
+    private Image[] tiles;  // pre-rendered image for each tile
+    private ImageIcon[] faces;  // reusable icon for each face
+
+    /**
+     * Load and pre-render every image.
+     */
+    private SpriteCache() {
+        tiles = new Image[TILE_FILES.length];
+        for (int i = 0; i < tiles.length; i++)
+            tiles[i] = render(TILE_FILES[i], CELL_SIZE);
+
+        faces = new ImageIcon[FACE_FILES.length];
+        for (int i = 0; i < faces.length; i++)
+            faces[i] = new ImageIcon(render(FACE_FILES[i], FACE_SIZE));
+    }
+
+    /**
+     * Get the shared cache, building it on first use.
+     *
+     * @return cache of images
+     */
+    public static synchronized SpriteCache get() {
+        if (instance == null)
+            instance = new SpriteCache();
+
+        return instance;
+    }
+
+    /**
+     * Load an image and draw it once at its final size so it never needs scaling again.
+     *
+     * @param file name of image file
+     * @param size side length of rendered image
+     * @return rendered image
+     */
+    private static Image render(String file, int size) {
+        ImageIcon icon = new ImageIcon(IMAGE_DIR + file);   // waits for the image to finish loading
+        BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.drawImage(icon.getImage(), 0, 0, size, size, null);
+        g.dispose();
+
+        return img;
+    }
+
+    /**
+     * Get the image for a tile.
+     *
+     * @param tile value of space 0 through 8, or tile constant
+     * @return shared image of tile
+     */
+    public Image getTile(int tile) {
+        return tiles[tile];
+    }
+
+    /**
+     * Get the icon for a face on the new game button.
+     *
+     * @param face face constant
+     * @return shared icon of face
+     */
+    public ImageIcon getFace(int face) {
+        return faces[face];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,265 @@
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Folds the statistics of many boards of one size into histograms, so the distributions of 3BV,
+ * openings, islands, and number frequencies can be studied over huge samples. Each board is
+ * measured, added, and dropped at once, so memory does not grow with the number of boards.
+ * Aggregates hold only counts, so two filled on different threads combine in any grouping to the
+ * same result; generate() splits a run across a ForkJoinPool and combines the parts as they finish.
+ *
+ * Usage: java StatsAggregate [-height rows] [-width columns] [-mines count] [-boards count]
+ *        [-seed seed]
+ *
+ * Last update: 10/18/26
+ */
+
+public class StatsAggregate {
+    private static final int LEAF_SIZE = 1 << 12;   // boards generated by each task without splitting
+    private static final String USAGE = "Usage: java StatsAggregate [-height rows] [-width columns] [-mines count]"
+            + " [-boards count]\n       [-seed seed]";
+
+    private int height;
+    private int width;
+    private int numMines;
+
+    private Histogram bv = new Histogram();     // 3BV of each board
+    private Histogram openings = new Histogram();   // openings on each board
+    private Histogram largestOpening = new Histogram();     // spaces in the largest opening of each board
+    private Histogram islands = new Histogram();    // islands on each board
+    private Histogram isolated = new Histogram();   // numbers no opening borders on each board
+    private Histogram[] frequencies = new Histogram[9];     // spaces showing each number on each board
+
+    /**
+     * Initialize an empty aggregate for boards of one size.
+     *
+     * @param height number of rows
+     * @param width number of columns
+     * @param numMines number of mines
+     */
+    public StatsAggregate(int height, int width, int numMines) {
+        this.height = height;
+        this.width = width;
+        this.numMines = numMines;
+
+        for (int i = 0; i < frequencies.length; i++)
+            frequencies[i] = new Histogram();
+    }
+
+    /**
+     * Add the statistics of one board.
+     *
+     * @param stats statistics of a board of this aggregate's size
+     */
+    public void add(GameStats stats) {
+        bv.add(stats.get3BV());
+        openings.add(stats.getOpeningCount());
+        largestOpening.add(stats.getLargestOpening());
+        islands.add(stats.getIslandCount());
+        isolated.add(stats.getIsolatedCount());
+
+        for (int i = 0; i < frequencies.length; i++)
+            frequencies[i].add(stats.getFrequency(i));
+    }
+
+    /**
+     * Add every board of another aggregate to this one.
+     *
+     * @param other aggregate of boards of the same size, left unchanged
+     * @return this aggregate
+     * @throws IllegalArgumentException if the sizes differ
+     */
+    public StatsAggregate combine(StatsAggregate other) {
+        if (other.height != height || other.width != width || other.numMines != numMines)
+            throw new IllegalArgumentException("Cannot combine boards of different sizes");
+
+        bv.add(other.bv);
+        openings.add(other.openings);
+        largestOpening.add(other.largestOpening);
+        islands.add(other.islands);
+        isolated.add(other.isolated);
+
+        for (int i = 0; i < frequencies.length; i++)
+            frequencies[i].add(other.frequencies[i]);
+
+        return this;
+    }
+
+    /**
+     * Generate boards across the common pool and aggregate their statistics. Board n is placed
+     * from the seed of the run plus n, so the result does not depend on how the
+     * work was split.
+     *
+     * @param height number of rows
+     * @param width number of columns
+     * @param numMines number of mines
+     * @param numBoards number of boards
+     * @param seed seed of the run
+     * @return aggregate of every board
+     */
+    public static StatsAggregate generate(int height, int width, int numMines, long numBoards, long seed) {
+        return ForkJoinPool.commonPool().invoke(new BoardsTask(height, width, numMines, seed, 0, numBoards));
+    }
+
+    /**
+     * Generates a range of boards, splitting it in half until it is small enough for one thread.
+     */
+    private static class BoardsTask extends RecursiveTask<StatsAggregate> {
+        private static final long serialVersionUID = 1L;
+
+        private int height;
+        private int width;
+        private int numMines;
+        private long seed;
+        private long first;
+        private long end;
+
+        BoardsTask(int height, int width, int numMines, long seed, long first, long end) {
+            this.height = height;
+            this.width = width;
+            this.numMines = numMines;
+            this.seed = seed;
+            this.first = first;
+            this.end = end;
+        }
+
+        @Override
+        protected StatsAggregate compute() {
+            if (end - first > LEAF_SIZE) {
+                long mid = (first + end) >>> 1;
+                BoardsTask right = new BoardsTask(height, width, numMines, seed, mid, end);
+                right.fork();
+
+                StatsAggregate left = new BoardsTask(height, width, numMines, seed, first, mid).compute();
+                return left.combine(right.join());
+            }
+
+            // one game reused for every board of the range
+            StatsAggregate aggregate = new StatsAggregate(height, width, numMines);
+            Game game = new Game(height, width, numMines);
+
+            for (long n = first; n < end; n++) {
+                game.clear();
+                game.placeMines(height / 2, width / 2, seed + n);
+                game.generateNumbers();
+                aggregate.add(game.getStats());
+            }
+
+            return aggregate;
+        }
+    }
+
+    /**
+     * Generate boards and print the distribution of each statistic.
+     *
+     * @param args options described in the class comment
+     */
+    public static void main(String[] args) {
+        int height = 16;
+        int width = 30;
+        int numMines = 99;
+        long numBoards = 1000000;
+        long seed = System.nanoTime();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length)
+                usage("Option " + args[i] + " needs a value");
+
+            try {
+                switch (args[i]) {
+                    case "-height":
+                        height = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "-width":
+                        width = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "-mines":
+                        numMines = Integer.parseInt(args[i + 1]);
+                        break;
+                    case "-boards":
+                        numBoards = Long.parseLong(args[i + 1]);
+                        break;
+                    case "-seed":
+                        seed = Long.parseLong(args[i + 1]);
+                        break;
+                    default:
+                        usage("Unknown option " + args[i]);
+                }
+            } catch (NumberFormatException e) {
+                usage("Option " + args[i] + " needs a number, not " + args[i + 1]);
+            }
+        }
+
+        long start = System.nanoTime();
+        StatsAggregate aggregate = generate(height, width, numMines, numBoards, seed);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf(Locale.ROOT, "%dx%d with %d mines, %d boards, first click in the middle%n", height,
+                width, numMines, aggregate.getNumBoards());
+        System.out.printf(Locale.ROOT, "%-16s %9s %9s %8s %8s %5s %5s %5s %5s %5s%n", "", "mean", "sd", "skew",
+                "kurtosis", "min", "p5", "p50", "p95", "max");
+        aggregate.print("3BV", aggregate.bv);
+        aggregate.print("openings", aggregate.openings);
+        aggregate.print("largest opening", aggregate.largestOpening);
+        aggregate.print("islands", aggregate.islands);
+        aggregate.print("isolated", aggregate.isolated);
+        for (int i = 0; i < aggregate.frequencies.length; i++)
+            aggregate.print("number " + i, aggregate.frequencies[i]);
+
+        System.out.printf(Locale.ROOT, "throughput %.0f boards/s%n", aggregate.getNumBoards() * 1e9 / elapsed);
+    }
+
+    /**
+     * Print a problem with the options and how to give them, then exit.
+     *
+     * @param message problem with the options
+     */
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    /**
+     * Print one line summarizing a histogram.
+     *
+     * @param name name of the statistic
+     * @param h histogram of the statistic
+     */
+    private void print(String name, Histogram h) {
+        System.out.printf(Locale.ROOT, "%-16s %9.3f %9.3f %8.3f %8.3f %5d %5d %5d %5d %5d%n", name, h.getMean(),
+                h.getStandardDeviation(), h.getSkewness(), h.getExcessKurtosis(), h.getMin(), h.percentile(0.05),
+                h.percentile(0.5), h.percentile(0.95), h.getMax());
+    }
+
+    // accessor methods
+
+    public long getNumBoards() {
+        return bv.getTotal();
+    }
+
+    public Histogram get3BV() {
+        return bv;
+    }
+
+    public Histogram getOpenings() {
+        return openings;
+    }
+
+    public Histogram getLargestOpening() {
+        return largestOpening;
+    }
+
+    public Histogram getIslands() {
+        return islands;
+    }
+
+    public Histogram getIsolated() {
+        return isolated;
+    }
+
+    public Histogram getFrequency(int number) {
+        return frequencies[number];
+    }
+}
\ No newline at end of file